@@ -0,0 +1,124 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks items recycling of {@link WheelRecycler#recycleItems}: every invocation moves
+ * the items range by one item, recycles items which left the range and takes new ones from the pool,
+ * as spinnerwheel does on every passed item. The recycling loop is the one of {@link AbstractItemsRecycler},
+ * item views are replaced with plain objects in a list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecyclerBenchmark {
+
+    /**
+     * Recycles items of list layout to the pool
+     */
+    private static class ListRecycler extends AbstractItemsRecycler<List<Object>, Object> {
+        final ItemPool<Object> pool;
+
+        ListRecycler(int poolSize) {
+            pool = new ItemPool<Object>(poolSize);
+        }
+
+        @Override
+        int getItemsCount(List<Object> layout) {
+            return layout.size();
+        }
+
+        @Override
+        Object getItemAt(List<Object> layout, int position) {
+            return layout.get(position);
+        }
+
+        @Override
+        void removeItemAt(List<Object> layout, int position) {
+            layout.remove(position);
+        }
+
+        @Override
+        void recycleItem(Object item, int index) {
+            pool.offer(item);
+        }
+    }
+
+    @Param({"5", "11"})
+    public int visibleItems;
+
+    @Param({"2", "16"})
+    public int poolSize;
+
+    private ListRecycler recycler;
+    private List<Object> layout;
+    private final ItemsRange range = new ItemsRange();
+    private int firstItem;
+
+    @Setup
+    public void setUp() {
+        recycler = new ListRecycler(poolSize);
+        layout = new ArrayList<Object>(visibleItems + 1);
+        for (int i = 0; i <= visibleItems; i++) {
+            layout.add(new Object());
+        }
+        firstItem = 0;
+    }
+
+    @Benchmark
+    public int recycleItems() {
+        range.set(firstItem + 1, visibleItems + 1);
+        firstItem = recycler.recycleItems(layout, firstItem, range);
+
+        // add new items to the end of range
+        while (layout.size() < range.getCount()) {
+            Object item = recycler.pool.poll();
+            if (item == null) {
+                item = new Object();
+            }
+            layout.add(item);
+        }
+        return firstItem;
+    }
+}
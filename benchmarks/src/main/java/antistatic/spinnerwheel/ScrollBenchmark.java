@@ -0,0 +1,105 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks scrolling arithmetic of {@link AbstractWheel#doScroll} and {@link AbstractWheel#getItemsRange()}.
+ * Every invocation handles one scroll step of a decelerating fling.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScrollBenchmark {
+
+    private static final int ITEM_DIMENSION = 48;
+    private static final int VISIBLE_ITEMS = 5;
+    private static final int BASE_DIMENSION = ITEM_DIMENSION * VISIBLE_ITEMS;
+
+    @Param({"10", "10000"})
+    public int itemCount;
+
+    @Param({"true", "false"})
+    public boolean cyclic;
+
+    // Scroll deltas of a fling, one per frame
+    private int[] deltas;
+    private int step;
+
+    private int currentItem;
+    private int scrollingOffset;
+
+    @Setup
+    public void setUp() {
+        deltas = new int[64];
+        for (int i = 0; i < deltas.length; i++) {
+            // decelerating from 3 items per frame, alternating direction between flings
+            deltas[i] = (deltas.length - i) * ITEM_DIMENSION * 3 / deltas.length + 1;
+        }
+        currentItem = itemCount / 2;
+        scrollingOffset = 0;
+    }
+
+    private int nextDelta() {
+        int delta = deltas[step % deltas.length];
+        step++;
+        return (step / deltas.length) % 2 == 0 ? delta : -delta;
+    }
+
+    @Benchmark
+    public int doScroll() {
+        scrollingOffset += nextDelta();
+        int count = WheelMath.getScrolledItemsCount(scrollingOffset, ITEM_DIMENSION, currentItem, itemCount, cyclic);
+        int pos = currentItem - count;
+        if (cyclic) {
+            pos = WheelMath.normalizeIndex(pos, itemCount);
+        }
+        currentItem = pos;
+        scrollingOffset = WheelMath.getScrolledOffset(scrollingOffset, count, ITEM_DIMENSION, BASE_DIMENSION);
+        return currentItem;
+    }
+
+    @Benchmark
+    public ItemsRange getItemsRange() {
+        int offset = nextDelta() % ITEM_DIMENSION;
+        return WheelMath.getItemsRange(currentItem, VISIBLE_ITEMS, offset, cyclic, itemCount);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link NumericWheelAdapter#getItemText(int)} for "%02d" format: label cache lookup
+ * and formatting on cache miss, with the {@link LabelCache} and {@link ZeroPaddedFormat} the adapter uses.
+ * Items are requested as spinnerwheel scrolls, a visible window at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericTextBenchmark {
+
+    private static final String FORMAT = "%02d";
+    private static final int VISIBLE_ITEMS = 7;
+
+    @Param({"0", "64"})
+    public int cacheSize;
+
+    private LabelCache zeroPaddedLabels;
+    private LabelCache stringFormatLabels;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        final ZeroPaddedFormat zeroPaddedFormat = new ZeroPaddedFormat("", 2, "", FORMAT);
+        zeroPaddedLabels = new LabelCache(cacheSize) {
+            @Override
+            String format(int key) {
+                return zeroPaddedFormat.format(key);
+            }
+        };
+        stringFormatLabels = new LabelCache(cacheSize) {
+            @Override
+            String format(int key) {
+                return String.format(FORMAT, key);
+            }
+        };
+        value = 0;
+    }
+
+    private int nextValue() {
+        // window of visible items moves by one item every VISIBLE_ITEMS requests
+        int next = value / VISIBLE_ITEMS + value % VISIBLE_ITEMS;
+        value = (value + 1) % (VISIBLE_ITEMS * 10000);
+        return next;
+    }
+
+    @Benchmark
+    public String zeroPaddedFormat() {
+        return zeroPaddedLabels.get(nextValue());
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return stringFormatLabels.get(nextValue());
+    }
+}
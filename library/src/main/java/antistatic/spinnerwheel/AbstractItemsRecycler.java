@@ -0,0 +1,91 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+/**
+ * Recycles items out of the range of current spinnerwheel items, see {@link WheelRecycler}.
+ * Knows nothing about the layout and items but their order, so the same loop serves any layout.
+ *
+ * @param <L> the items layout type
+ * @param <T> the item type
+ */
+abstract class AbstractItemsRecycler<L, T> {
+
+    /**
+     * Recycles items from specified layout.
+     * There are saved only items not included to specified range.
+     * All the cached items are removed from original layout.
+     *
+     * @param layout the layout containing items to be cached
+     * @param firstItem the number of first item in layout
+     * @param range the range of current spinnerwheel items
+     * @return the new value of first item number
+     */
+    public int recycleItems(L layout, int firstItem, ItemsRange range) {
+        int index = firstItem;
+        for (int i = 0; i < getItemsCount(layout);) {
+            if (!range.contains(index)) {
+                recycleItem(getItemAt(layout, i), index);
+                removeItemAt(layout, i);
+                if (i == 0) { // first item
+                    firstItem++;
+                }
+            } else {
+                i++; // go to next item
+            }
+            index++;
+        }
+        return firstItem;
+    }
+
+    /**
+     * Gets count of items in layout
+     * @param layout the items layout
+     * @return the count of items
+     */
+    abstract int getItemsCount(L layout);
+
+    /**
+     * Gets item at specified position in layout
+     * @param layout the items layout
+     * @param position the item position
+     * @return the item
+     */
+    abstract T getItemAt(L layout, int position);
+
+    /**
+     * Removes item at specified position from layout
+     * @param layout the items layout
+     * @param position the item position
+     */
+    abstract void removeItemAt(L layout, int position);
+
+    /**
+     * Caches item removed from layout
+     * @param item the item
+     * @param index the item index, not normalized
+     */
+    abstract void recycleItem(T item, int index);
+}
@@ -26,7 +26,7 @@ package antistatic.spinnerwheel;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.database.DataSetObserver;
+import android.graphics.Canvas;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.util.AttributeSet;
@@ -35,11 +35,9 @@ import android.view.MotionEvent;
 import android.view.View;
 import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
+import antistatic.spinnerwheel.adapters.WheelDataSetObserver;
 import antistatic.spinnerwheel.adapters.WheelViewAdapter;
 
-import java.util.LinkedList;
-import java.util.List;
-
 /**
  * Abstract spinner spinnerwheel view.
  * This class should be subclassed.
@@ -65,6 +63,26 @@ public abstract class AbstractWheel extends View {
     private static final int DEF_VISIBLE_ITEMS = 4;
     private static final boolean DEF_IS_CYCLIC = false;
 
+    /**
+     * Default frame budget for frame drop detection, in milliseconds
+     */
+    public static final int DEF_FRAME_BUDGET_MILLIS = 16;
+
+    /**
+     * Changing listeners are notified about every item change
+     */
+    public static final int NOTIFY_CHANGES_IMMEDIATELY = 0;
+
+    /**
+     * While scrolling, item changes are coalesced and changing listeners are notified once per frame
+     */
+    public static final int NOTIFY_CHANGES_PER_FRAME = 1;
+
+    /**
+     * While scrolling, item changes are coalesced and changing listeners are notified when scrolling is finished
+     */
+    public static final int NOTIFY_CHANGES_ON_SETTLE = 2;
+
     //----------------------------------
     //  Class properties
     //----------------------------------
@@ -82,12 +100,19 @@ public abstract class AbstractWheel extends View {
     protected WheelScroller mScroller;
     protected boolean mIsScrollingPerformed;
     protected int mScrollingOffset;
+    // Should fling end at item boundary with no justifying
+    protected boolean mSnappingFling;
+    private WheelScroller.FlingDeceleration mFlingDeceleration;
+    // Item current fling is predicted to stop at, -1 if there is no fling
+    private int mPredictedTargetItem = -1;
 
     // Items layout
     protected LinearLayout mItemsLayout;
 
     // The number of first item in layout
     protected int mFirstItemIdx;
+    // Range of items being rebuilt, reused from frame to frame
+    private final ItemsRange mItemsRange = new ItemsRange();
 
     // View adapter
     protected WheelViewAdapter mViewAdapter;
@@ -98,15 +123,43 @@ public abstract class AbstractWheel extends View {
     // Recycle
     private WheelRecycler mRecycler = new WheelRecycler(this);
 
+    // Rendering and recycling metrics, null if not collected
+    private WheelMetrics mMetrics;
+
+    // Frame drop detection, report is null if detection is disabled
+    private OnWheelFrameDropListener mFrameDropListener;
+    private WheelFrameReport mFrameReport;
+
     // Listeners
-    private List<OnWheelChangedListener> changingListeners = new LinkedList<OnWheelChangedListener>();
-    private List<OnWheelScrollListener> scrollingListeners = new LinkedList<OnWheelScrollListener>();
-    private List<OnWheelClickedListener> clickingListeners = new LinkedList<OnWheelClickedListener>();
+    private WheelListenerList<OnWheelChangedListener> changingListeners =
+            new WheelListenerList<OnWheelChangedListener>(new OnWheelChangedListener[0]);
+    private WheelListenerList<OnWheelScrollListener> scrollingListeners =
+            new WheelListenerList<OnWheelScrollListener>(new OnWheelScrollListener[0]);
+    private WheelListenerList<OnWheelClickedListener> clickingListeners =
+            new WheelListenerList<OnWheelClickedListener>(new OnWheelClickedListener[0]);
+    private WheelListenerList<OnWheelFlingTargetListener> flingTargetListeners =
+            new WheelListenerList<OnWheelFlingTargetListener>(new OnWheelFlingTargetListener[0]);
 
     //XXX: I don't like listeners the way as they are now. -df
 
+    // Changing listeners notification policy
+    private int mChangesNotification = NOTIFY_CHANGES_IMMEDIATELY;
+    // Set when item has been changed during scrolling and listeners are not notified yet
+    private boolean mChangePending;
+    // The item before the first of pending changes
+    private int mPendingChangeOldValue;
+    private Runnable mNotifyPendingChange = new Runnable() {
+        @Override
+        public void run() {
+            notifyPendingChange();
+        }
+    };
+
     // Adapter listener
-    private DataSetObserver mDataObserver;
+    private WheelDataSetObserver mDataObserver;
+
+    // Set when item views have been rebound in place and items layout needs to be measured again
+    private boolean mItemsRebound;
     public int              mLastTempDirection;
 
 
@@ -146,6 +199,8 @@ public abstract class AbstractWheel extends View {
         mVisibleItems = a.getInt(R.styleable.AbstractWheelView_visibleItems, DEF_VISIBLE_ITEMS);
         mIsAllVisible = a.getBoolean(R.styleable.AbstractWheelView_isAllVisible, false);
         mIsCyclic = a.getBoolean(R.styleable.AbstractWheelView_isCyclic, DEF_IS_CYCLIC);
+        mSnappingFling = a.getBoolean(R.styleable.AbstractWheelView_snappingFling, false);
+        mChangesNotification = a.getInt(R.styleable.AbstractWheelView_changesNotification, NOTIFY_CHANGES_IMMEDIATELY);
 
         a.recycle();
     }
@@ -157,12 +212,19 @@ public abstract class AbstractWheel extends View {
      */
     protected void initData(Context context) {
 
-        mDataObserver = new DataSetObserver() {
+        mDataObserver = new WheelDataSetObserver() {
             @Override
             public void onChanged() {
+                onItemsChanged();
                 invalidateItemsLayout(false);
             }
 
+            @Override
+            public void onItemRangeChanged(int start, int count) {
+                onItemsChanged();
+                rebindItems(start, count);
+            }
+
             @Override
             public void onInvalidated() {
                 invalidateItemsLayout(true);
@@ -179,6 +241,7 @@ public abstract class AbstractWheel extends View {
             }
 
             public void onTouch() {
+                mPredictedTargetItem = -1;
                 onScrollTouched();
             }
 
@@ -189,6 +252,9 @@ public abstract class AbstractWheel extends View {
 
             @Override public void onFling(int direction) {
                 mLastTempDirection = direction;
+                if (direction != 0) {
+                    onFlingStarted(mScroller.getRemainingScrollDistance());
+                }
             }
 
             public void onScroll(int distance) {
@@ -205,12 +271,14 @@ public abstract class AbstractWheel extends View {
             }
 
             public void onFinished() {
+                notifyPendingChange();
                 if (mIsScrollingPerformed) {
                     notifyScrollingListenersAboutEnd();
                     mIsScrollingPerformed = false;
                     onScrollFinished();
                 }
 
+                mPredictedTargetItem = -1;
                 mScrollingOffset = 0;
                 invalidate();
             }
@@ -240,6 +308,7 @@ public abstract class AbstractWheel extends View {
                 }
             }
         });
+        updateFlingSnapping();
     }
 
     @Override
@@ -373,6 +442,125 @@ public abstract class AbstractWheel extends View {
         mScroller.setFriction(friction);
     }
 
+    /**
+     * Enables snapped fling: fling end position is computed when fling starts and is adjusted to item boundary,
+     * so fling and justifying are done as a single animation.
+     *
+     * @param snappingFling true to snap fling
+     */
+    public void setSnappingFling(boolean snappingFling) {
+        if (mSnappingFling != snappingFling) {
+            mSnappingFling = snappingFling;
+            updateFlingSnapping();
+        }
+    }
+
+    /**
+     * Checks whether fling is snapped to item boundary
+     *
+     * @return true if fling is snapped
+     */
+    public boolean isSnappingFling() {
+        return mSnappingFling;
+    }
+
+    /**
+     * Sets deceleration curve of snapped fling, see {@link #setSnappingFling(boolean)}
+     *
+     * @param deceleration the deceleration curve, null for default one
+     */
+    public void setFlingDeceleration(WheelScroller.FlingDeceleration deceleration) {
+        mFlingDeceleration = deceleration;
+        updateFlingSnapping();
+    }
+
+    /**
+     * Passes fling snapping settings to the scroller
+     */
+    private void updateFlingSnapping() {
+        if (mSnappingFling) {
+            mScroller.setFlingSnapping(new WheelScroller.FlingSnapper() {
+                @Override
+                public int snapFlingDistance(int distance) {
+                    return AbstractWheel.this.snapFlingDistance(distance);
+                }
+            }, mFlingDeceleration);
+        } else {
+            mScroller.setFlingSnapping(null, null);
+        }
+    }
+
+    /**
+     * Adjusts fling distance to make fling end at item boundary and, for non-cyclic spinnerwheel, within items range
+     *
+     * @param distance the fling distance, scrolling offset is decreased by it
+     * @return the snapped fling distance
+     */
+    private int snapFlingDistance(int distance) {
+        int itemDimension = getItemDimension();
+        if (itemDimension <= 0 || mViewAdapter == null) {
+            return distance;
+        }
+        return mScrollingOffset - getItemsToScroll(distance) * itemDimension;
+    }
+
+    /**
+     * Calculates count of items scrolling by specified distance ends up at, rounded to the nearest item
+     * and limited by items range for non-cyclic spinnerwheel
+     *
+     * @param distance the scrolling distance, scrolling offset is decreased by it
+     * @return count of items, current item index is decreased by it
+     */
+    private int getItemsToScroll(int distance) {
+        int itemsToScroll = Math.round((float) (mScrollingOffset - distance) / getItemDimension());
+        if (!mIsCyclic) {
+            int target = mCurrentItemIdx - itemsToScroll;
+            int itemCount = mViewAdapter.getItemsCount();
+            if (target >= itemCount) {
+                target = itemCount - 1;
+            }
+            if (target < 0) {
+                target = 0;
+            }
+            itemsToScroll = mCurrentItemIdx - target;
+        }
+        return itemsToScroll;
+    }
+
+    /**
+     * Predicts fling target item and notifies listeners about it
+     *
+     * @param distance the fling distance
+     */
+    private void onFlingStarted(int distance) {
+        if (mViewAdapter == null || getItemDimension() <= 0) {
+            return;
+        }
+        int itemCount = mViewAdapter.getItemsCount();
+        if (itemCount == 0) {
+            return;
+        }
+        int target = mCurrentItemIdx - getItemsToScroll(distance);
+        if (mIsCyclic) {
+            target %= itemCount;
+            if (target < 0) {
+                target += itemCount;
+            }
+        }
+        mPredictedTargetItem = target;
+        notifyFlingTargetListeners(target);
+    }
+
+    /**
+     * Gets the item current fling is going to stop at. Prediction is exact for snapped fling,
+     * see {@link #setSnappingFling(boolean)}, otherwise final justifying may shift it by one item.
+     *
+     * @return the predicted target item index, or current item index if spinnerwheel is not flung
+     */
+    public int getPredictedTargetItem() {
+        return mPredictedTargetItem != -1 ? mPredictedTargetItem : mCurrentItemIdx;
+    }
+
     /**
      * Scrolls the spinnerwheel
      *
@@ -382,42 +570,14 @@ public abstract class AbstractWheel extends View {
         mScrollingOffset += delta;
 
         int itemDimension = getItemDimension();
-        int count = mScrollingOffset / itemDimension;
-
-        int pos = mCurrentItemIdx - count;
         int itemCount = mViewAdapter.getItemsCount();
+        int count = WheelMath.getScrolledItemsCount(mScrollingOffset, itemDimension, mCurrentItemIdx,
+                itemCount, mIsCyclic);
 
-        int fixPos = mScrollingOffset % itemDimension;
-        if (Math.abs(fixPos) <= itemDimension / 2) {
-            fixPos = 0;
-        }
+        int pos = mCurrentItemIdx - count;
         if (mIsCyclic && itemCount > 0) {
-            if (fixPos > 0) {
-                pos--;
-                count++;
-            } else if (fixPos < 0) {
-                pos++;
-                count--;
-            }
             // fix position by rotating
-            while (pos < 0) {
-                pos += itemCount;
-            }
-            pos %= itemCount;
-        } else {
-            if (pos < 0) {
-                count = mCurrentItemIdx;
-                pos = 0;
-            } else if (pos >= itemCount) {
-                count = mCurrentItemIdx - itemCount + 1;
-                pos = itemCount - 1;
-            } else if (pos > 0 && fixPos > 0) {
-                pos--;
-                count++;
-            } else if (pos < itemCount - 1 && fixPos < 0) {
-                pos++;
-                count--;
-            }
+            pos = WheelMath.normalizeIndex(pos, itemCount);
         }
 
         int offset = mScrollingOffset;
@@ -428,11 +588,7 @@ public abstract class AbstractWheel extends View {
         }
 
         // update offset
-        int baseDimension = getBaseDimension();
-        mScrollingOffset = offset - count * itemDimension;
-        if (mScrollingOffset > baseDimension) {
-            mScrollingOffset = mScrollingOffset % baseDimension + baseDimension;
-        }
+        mScrollingOffset = WheelMath.getScrolledOffset(offset, count, itemDimension, getBaseDimension());
     }
 
     //--------------------------------------------------------------------------
@@ -515,13 +671,69 @@ public abstract class AbstractWheel extends View {
             }
             mScrollingOffset = 0;
         } else if (mItemsLayout != null) {
-            // cache all items
+            // cache all items, they have to be rebound
             mRecycler.recycleItems(mItemsLayout, mFirstItemIdx, new ItemsRange());
+            mRecycler.flushIndexCache();
         }
         invalidate();
     }
 
 
+    /**
+     * Is called when data of adapter items has been changed, before item views are bound again.
+     * Values derived from items data, like measured item size, are to be dropped here.
+     */
+    protected void onItemsChanged() {
+    }
+
+    /**
+     * Rebinds visible item views of changed items, leaving the rest of items layout intact
+     *
+     * @param start the index of the first changed item
+     * @param count the count of changed items
+     */
+    protected void rebindItems(int start, int count) {
+        mRecycler.invalidateIndexRange(start, count);
+        if (mItemsLayout == null || mViewAdapter == null) {
+            return;
+        }
+        int itemsCount = mViewAdapter.getItemsCount();
+        boolean rebound = false;
+        for (int i = 0; i < mItemsLayout.getChildCount(); i++) {
+            int index = mFirstItemIdx + i;
+            if (!isValidItemIndex(index)) {
+                continue; // empty item
+            }
+            while (index < 0) {
+                index += itemsCount;
+            }
+            index %= itemsCount;
+            if (index < start || index >= start + count) {
+                continue;
+            }
+
+            View child = mItemsLayout.getChildAt(i);
+            View view = bindItemView(index, child);
+            if (view != child) {
+                // child is bound to the item as its old view type, so it is kept for other items
+                mRecycler.recycleItem(child, index);
+                mItemsLayout.removeViewAt(i);
+                if (view != null) {
+                    mItemsLayout.addView(view, i);
+                } else {
+                    // layout would be inconsistent otherwise
+                    invalidateItemsLayout(false);
+                    return;
+                }
+            }
+            rebound = true;
+        }
+        if (rebound) {
+            mItemsRebound = true;
+            invalidate();
+        }
+    }
+
     //--------------------------------------------------------------------------
     //
     //  Getters and setters
@@ -548,6 +760,78 @@ public abstract class AbstractWheel extends View {
         mVisibleItems = count;
     }
 
+    /**
+     * Gets recycler keeping views of items which are not visible
+     *
+     * @return the recycler
+     */
+    public WheelRecycler getRecycler() {
+        return mRecycler;
+    }
+
+    /**
+     * Sets metrics to be notified about frames drawn, items rebuilt and item views recycled.
+     *
+     * @param metrics the metrics, or null to stop collecting them
+     */
+    public void setMetrics(WheelMetrics metrics) {
+        mMetrics = metrics;
+        mScroller.takeScrollMessagesCount();
+    }
+
+    /**
+     * Gets metrics set for the spinnerwheel
+     *
+     * @return the metrics, or null if there are none
+     */
+    public WheelMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Enables frame drop detection with default frame budget,
+     * see {@link #setFrameDropListener(OnWheelFrameDropListener, int)}
+     *
+     * @param listener the listener, or null to disable detection
+     */
+    public void setFrameDropListener(OnWheelFrameDropListener listener) {
+        setFrameDropListener(listener, DEF_FRAME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Enables frame drop detection. Listener is notified about frames drawn during fling and justifying
+     * where spinnerwheel measuring and drawing takes longer than the budget. Detection is meant for
+     * debugging, and it costs a few time measurements per frame.
+     *
+     * @param listener the listener, or null to disable detection
+     * @param budgetMillis the frame budget, in milliseconds
+     */
+    public void setFrameDropListener(OnWheelFrameDropListener listener, int budgetMillis) {
+        mFrameDropListener = listener;
+        mFrameReport = listener != null ? new WheelFrameReport(budgetMillis * 1000000L) : null;
+    }
+
+    /**
+     * Starts accounting frame time to specified section, if frame drop detection is enabled.
+     * Sections may be nested and each call has to be paired with {@link #endFrameSection()}.
+     *
+     * @param section the section, one of {@link WheelFrameReport} SECTION_* constants
+     */
+    protected void beginFrameSection(int section) {
+        if (mFrameReport != null) {
+            mFrameReport.beginSection(section);
+        }
+    }
+
+    /**
+     * Stops accounting frame time to the section started last
+     */
+    protected void endFrameSection() {
+        if (mFrameReport != null) {
+            mFrameReport.endSection();
+        }
+    }
+
     /**
      * Sets all items to have no dim and makes them visible
      *
@@ -585,6 +869,49 @@ public abstract class AbstractWheel extends View {
         invalidateItemsLayout(true);
     }
 
+    /**
+     * Replaces view adapter. If views are kept and the adapters have compatible view types,
+     * see {@link WheelViewAdapter#hasCompatibleViewTypes(WheelViewAdapter)}, item views
+     * on screen are rebound in place and recycled item views are kept for the new adapter.
+     * Otherwise works as {@link #setViewAdapter(WheelViewAdapter)}.
+     *
+     * @param viewAdapter the view adapter
+     * @param keepViews true to reuse item views of the current adapter
+     */
+    public void swapAdapter(WheelViewAdapter viewAdapter, boolean keepViews) {
+        WheelViewAdapter oldAdapter = mViewAdapter;
+        if (!keepViews || oldAdapter == null || viewAdapter == null || !oldAdapter.hasCompatibleViewTypes(viewAdapter)) {
+            setViewAdapter(viewAdapter);
+            return;
+        }
+        int oldCount = oldAdapter.getItemsCount();
+        int count = viewAdapter.getItemsCount();
+        // same items positions, views may be rebound right where they are
+        boolean rebindInPlace = count == oldCount && mCurrentItemIdx < count;
+        int oldCurrentItemIdx = mCurrentItemIdx;
+        if (!rebindInPlace) {
+            if (mCurrentItemIdx >= count) {
+                // the current item is kept within items of the new adapter
+                mCurrentItemIdx = count == 0 ? 0
+                        : mIsCyclic ? WheelMath.normalizeIndex(mCurrentItemIdx, count) : count - 1;
+            }
+            // item views are recycled while the adapter they have been bound by is still set
+            invalidateItemsLayout(false);
+        }
+        mRecycler.flushIndexCache();
+
+        oldAdapter.unregisterDataSetObserver(mDataObserver);
+        mViewAdapter = viewAdapter;
+        mViewAdapter.registerDataSetObserver(mDataObserver);
+
+        if (rebindInPlace) {
+            rebindItems(0, count);
+        }
+        if (mCurrentItemIdx != oldCurrentItemIdx) {
+            dispatchChange(oldCurrentItemIdx, mCurrentItemIdx);
+        }
+    }
+
     /**
      * Gets current value
      *
@@ -630,7 +957,7 @@ public abstract class AbstractWheel extends View {
                 mScrollingOffset = 0;
                 final int old = mCurrentItemIdx;
                 mCurrentItemIdx = index;
-                notifyChangingListeners(old, mCurrentItemIdx);
+                dispatchChange(old, mCurrentItemIdx);
                 invalidate();
             }
         }
@@ -689,6 +1016,62 @@ public abstract class AbstractWheel extends View {
         changingListeners.remove(listener);
     }
 
+    /**
+     * Sets the way changing listeners are notified while spinnerwheel is scrolled
+     *
+     * @param changesNotification {@link #NOTIFY_CHANGES_IMMEDIATELY}, {@link #NOTIFY_CHANGES_PER_FRAME}
+     *                            or {@link #NOTIFY_CHANGES_ON_SETTLE}
+     */
+    public void setChangesNotification(int changesNotification) {
+        if (changesNotification != NOTIFY_CHANGES_IMMEDIATELY && changesNotification != NOTIFY_CHANGES_PER_FRAME
+                && changesNotification != NOTIFY_CHANGES_ON_SETTLE) {
+            throw new IllegalArgumentException("Unknown changes notification: " + changesNotification);
+        }
+        notifyPendingChange();
+        mChangesNotification = changesNotification;
+    }
+
+    /**
+     * Gets the way changing listeners are notified while spinnerwheel is scrolled
+     *
+     * @return {@link #NOTIFY_CHANGES_IMMEDIATELY}, {@link #NOTIFY_CHANGES_PER_FRAME} or {@link #NOTIFY_CHANGES_ON_SETTLE}
+     */
+    public int getChangesNotification() {
+        return mChangesNotification;
+    }
+
+    /**
+     * Notifies changing listeners according to the notification policy
+     *
+     * @param oldValue the old spinnerwheel value
+     * @param newValue the new spinnerwheel value
+     */
+    private void dispatchChange(int oldValue, int newValue) {
+        if (mChangesNotification == NOTIFY_CHANGES_IMMEDIATELY || !mIsScrollingPerformed) {
+            notifyPendingChange();
+            notifyChangingListeners(oldValue, newValue);
+        } else if (!mChangePending) {
+            mChangePending = true;
+            mPendingChangeOldValue = oldValue;
+            if (mChangesNotification == NOTIFY_CHANGES_PER_FRAME) {
+                post(mNotifyPendingChange);
+            }
+        }
+    }
+
+    /**
+     * Notifies changing listeners about coalesced changes, if any
+     */
+    private void notifyPendingChange() {
+        if (mChangePending) {
+            mChangePending = false;
+            removeCallbacks(mNotifyPendingChange);
+            if (mPendingChangeOldValue != mCurrentItemIdx) {
+                notifyChangingListeners(mPendingChangeOldValue, mCurrentItemIdx);
+            }
+        }
+    }
+
     /**
      * Notifies changing listeners
      *
@@ -696,7 +1079,7 @@ public abstract class AbstractWheel extends View {
      * @param newValue the new spinnerwheel value
      */
     protected void notifyChangingListeners(int oldValue, int newValue) {
-        for (OnWheelChangedListener listener : changingListeners) {
+        for (OnWheelChangedListener listener : changingListeners.getListeners()) {
             listener.onChanged(this, oldValue, newValue);
         }
     }
@@ -723,7 +1106,7 @@ public abstract class AbstractWheel extends View {
      * Notifies listeners about starting scrolling
      */
     protected void notifyScrollingListenersAboutStart() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
+        for (OnWheelScrollListener listener : scrollingListeners.getListeners()) {
             listener.onScrollingStarted(this);
         }
     }
@@ -732,7 +1115,7 @@ public abstract class AbstractWheel extends View {
      * Notifies listeners about ending scrolling
      */
     protected void notifyScrollingListenersAboutEnd() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
+        for (OnWheelScrollListener listener : scrollingListeners.getListeners()) {
             listener.onScrollingFinished(this);
         }
     }
@@ -755,13 +1138,42 @@ public abstract class AbstractWheel extends View {
         clickingListeners.remove(listener);
     }
 
+    /**
+     * Adds spinnerwheel fling target listener
+     *
+     * @param listener the listener
+     */
+    public void addFlingTargetListener(OnWheelFlingTargetListener listener) {
+        flingTargetListeners.add(listener);
+    }
+
+    /**
+     * Removes spinnerwheel fling target listener
+     *
+     * @param listener the listener
+     */
+    public void removeFlingTargetListener(OnWheelFlingTargetListener listener) {
+        flingTargetListeners.remove(listener);
+    }
+
+    /**
+     * Notifies listeners about fling target
+     *
+     * @param targetItem the predicted fling target item
+     */
+    protected void notifyFlingTargetListeners(int targetItem) {
+        for (OnWheelFlingTargetListener listener : flingTargetListeners.getListeners()) {
+            listener.onFlingTarget(this, targetItem);
+        }
+    }
+
     /**
      * Notifies listeners about clicking
      *
      * @param item clicked item
      */
     protected void notifyClickListenersAboutClick(int item) {
-        for (OnWheelClickedListener listener : clickingListeners) {
+        for (OnWheelClickedListener listener : clickingListeners.getListeners()) {
             listener.onItemClicked(this, item);
         }
     }
@@ -779,12 +1191,31 @@ public abstract class AbstractWheel extends View {
      * @return true if items are rebuilt
      */
     protected boolean rebuildItems() {
+        if (mMetrics == null && mFrameReport == null) {
+            return doRebuildItems();
+        }
+        long start = System.nanoTime();
+        beginFrameSection(WheelFrameReport.SECTION_REBUILD);
+        boolean updated = doRebuildItems();
+        endFrameSection();
+        if (mMetrics != null) {
+            mMetrics.onItemsRebuilt(this, System.nanoTime() - start);
+        }
+        return updated;
+    }
+
+    /**
+     * Rebuilds spinnerwheel items, see {@link #rebuildItems()}
+     *
+     * @return true if items are rebuilt
+     */
+    private boolean doRebuildItems() {
         boolean updated;
-        ItemsRange range = getItemsRange();
+        ItemsRange range = getItemsRange(mItemsRange);
 
         if (mItemsLayout != null) {
             int first = mRecycler.recycleItems(mItemsLayout, mFirstItemIdx, range);
-            updated = mFirstItemIdx != first;
+            updated = mFirstItemIdx != first || mItemsRebound;
             mFirstItemIdx = first;
         } else {
             createItemsLayout();
@@ -813,6 +1244,7 @@ public abstract class AbstractWheel extends View {
             }
         }
         mFirstItemIdx = first;
+        mItemsRebound = false;
 
         return updated;
     }
@@ -826,28 +1258,26 @@ public abstract class AbstractWheel extends View {
      *
      * @return the items range
      */
-    private ItemsRange getItemsRange() {
+    protected ItemsRange getItemsRange() {
+        return getItemsRange(new ItemsRange());
+    }
+
+    /**
+     * Calculates range for spinnerwheel items, storing it in the given range.
+     * Is used on drawing, so no range is allocated per frame.
+     *
+     * @param range the range to store the result in
+     * @return the given range
+     */
+    protected ItemsRange getItemsRange(ItemsRange range) {
         if (mIsAllVisible) {
             int baseDimension = getBaseDimension();
             int itemDimension = getItemDimension();
             if (itemDimension != 0) mVisibleItems = baseDimension / itemDimension + 1;
         }
 
-        int start = mCurrentItemIdx - mVisibleItems / 2;
-        int end = start + mVisibleItems - (mVisibleItems % 2 == 0 ? 0 : 1);
-        if (mScrollingOffset != 0) {
-            if (mScrollingOffset > 0) {
-                start--;
-            } else {
-                end++;
-            }
-        }
-        if (!isCyclic()) {
-            if (start < 0) start = 0;
-            if (mViewAdapter == null) end = 0;
-            else if (end > mViewAdapter.getItemsCount()) end = mViewAdapter.getItemsCount();
-        }
-        return new ItemsRange(start, end - start + 1);
+        int itemCount = mViewAdapter != null ? mViewAdapter.getItemsCount() : 0;
+        return WheelMath.getItemsRange(mCurrentItemIdx, mVisibleItems, mScrollingOffset, isCyclic(), itemCount, range);
     }
 
     /**
@@ -897,14 +1327,126 @@ public abstract class AbstractWheel extends View {
         }
         int count = mViewAdapter.getItemsCount();
         if (!isValidItemIndex(index)) {
-            return mViewAdapter.getEmptyItem(mRecycler.getEmptyItem(), mItemsLayout);
+            View convertView = mRecycler.getEmptyItem();
+            beginFrameSection(WheelFrameReport.SECTION_BIND);
+            View view = mViewAdapter.getEmptyItem(convertView, mItemsLayout);
+            endFrameSection();
+            if (view != null) {
+                // empty views are recycled by having no view type
+                view.setTag(R.id.wheel_item_view_type, null);
+            }
+            if (mMetrics != null) {
+                notifyMetricsAboutBind(-1, convertView, view);
+            }
+            return view;
         } else {
             while (index < 0) {
                 index = count + index;
             }
         }
         index %= count;
-        return mViewAdapter.getItem(index, mRecycler.getItem(), mItemsLayout, mCurrentItemIdx);
+        boolean isCurrent = index == mCurrentItemIdx;
+        View view = mRecycler.getBoundItem(index, isCurrent);
+        if (view != null) {
+            if (mMetrics != null) {
+                mMetrics.onRecyclerHit(this, true);
+            }
+            return view;
+        }
+        return bindItemView(index, null);
+    }
+
+    /**
+     * Binds item view with adapter data
+     *
+     * @param index the normalized item index
+     * @param boundView the view currently bound to another data or null
+     * @return item view
+     */
+    private View bindItemView(int index, View boundView) {
+        int viewType = mViewAdapter.getItemViewType(index);
+        if (viewType < 0 || viewType >= mViewAdapter.getViewTypeCount()) {
+            throw new IllegalStateException("Item view type " + viewType + " is out of range");
+        }
+        View convertView = boundView;
+        boolean recycled = false;
+        if (convertView == null || !Integer.valueOf(viewType).equals(convertView.getTag(R.id.wheel_item_view_type))) {
+            convertView = mRecycler.getItem(viewType);
+            recycled = true;
+        }
+        boolean isCurrent = index == mCurrentItemIdx;
+        beginFrameSection(WheelFrameReport.SECTION_BIND);
+        View view = mViewAdapter.getItem(index, convertView, mItemsLayout, mCurrentItemIdx);
+        endFrameSection();
+        if (view != null) {
+            view.setTag(R.id.wheel_item_bound_as_current, isCurrent);
+            view.setTag(R.id.wheel_item_view_type, viewType);
+        }
+        if (mMetrics != null) {
+            if (recycled) {
+                notifyMetricsAboutBind(index, convertView, view);
+            } else {
+                mMetrics.onItemBound(this, index, view != convertView);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Notifies metrics about item view taken from recycler and bound by adapter
+     *
+     * @param index the item index, or -1 for empty item
+     * @param convertView the view taken from recycler, null if recycler had none
+     * @param view the view returned by adapter
+     */
+    private void notifyMetricsAboutBind(int index, View convertView, View view) {
+        if (convertView != null) {
+            mMetrics.onRecyclerHit(this, false);
+        } else {
+            mMetrics.onRecyclerMiss(this);
+        }
+        if (view != null) {
+            mMetrics.onItemBound(this, index, view != convertView);
+        }
+    }
+
+
+    //--------------------------------------------------------------------------
+    //
+    //  Drawing
+    //
+    //--------------------------------------------------------------------------
+
+    @Override
+    public void draw(Canvas canvas) {
+        if (mMetrics == null && mFrameReport == null) {
+            super.draw(canvas);
+            return;
+        }
+        long start = System.nanoTime();
+        beginFrameSection(WheelFrameReport.SECTION_OTHER);
+        super.draw(canvas);
+        endFrameSection();
+        if (mMetrics != null) {
+            mMetrics.onFrameDrawn(this, System.nanoTime() - start, mScroller.takeScrollMessagesCount());
+        }
+        if (mFrameReport != null) {
+            finishFrame();
+        }
+    }
+
+    /**
+     * Notifies frame drop listener if frame just drawn is over budget, and starts accounting the next frame
+     */
+    private void finishFrame() {
+        WheelFrameReport report = mFrameReport;
+        int phase = mScroller.getScrollingPhase();
+        if ((phase == WheelScroller.PHASE_FLINGING || phase == WheelScroller.PHASE_JUSTIFYING)
+                && report.isOverBudget()) {
+            report.setScrollingPhase(phase);
+            mFrameDropListener.onFrameDropped(this, report);
+        }
+        report.reset();
     }
 
 
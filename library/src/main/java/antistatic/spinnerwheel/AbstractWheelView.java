@@ -24,11 +24,15 @@
 
 package antistatic.spinnerwheel;
 
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.*;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.util.AttributeSet;
+import antistatic.spinnerwheel.adapters.WheelTextAdapter;
+import antistatic.spinnerwheel.adapters.WheelViewAdapter;
 import com.nineoldandroids.animation.Animator;
 import com.nineoldandroids.animation.ObjectAnimator;
 
@@ -63,6 +67,24 @@ public abstract class AbstractWheelView extends AbstractWheel {
     
     protected static final int DEF_SELECTION_DIVIDER_SIZE = 2;
 
+    /**
+     * Items and separators are drawn into intermediate bitmaps, which are masked and then blitted to the screen.
+     */
+    public static final int COMPOSITING_MODE_BITMAP = 0;
+
+    /**
+     * Items and separators are masked within offscreen layers of the target canvas, no intermediate bitmaps are kept.
+     * Software canvases would allocate a layer bitmap per frame, so they fall back to {@link #COMPOSITING_MODE_BITMAP}.
+     */
+    public static final int COMPOSITING_MODE_LAYER = 1;
+
+    protected static final int DEF_COMPOSITING_MODE = COMPOSITING_MODE_BITMAP;
+
+    /**
+     * Number of steps selector coefficient is quantized to when caching selector shaders.
+     */
+    protected static final int SELECTOR_SHADER_CACHE_STEPS = 64;
+
     //----------------------------------
     //  Class properties
     //----------------------------------
@@ -93,6 +115,18 @@ public abstract class AbstractWheelView extends AbstractWheel {
     /** Active coeff */
     protected float mActiveCoeff = 1f;
 
+    /** The way items are composited with selector and separators masks */
+    protected int mCompositingMode;
+
+    /** Whether layers have been drawn to a software canvas, so intermediate bitmaps are kept anyway */
+    private boolean mLayersFallback;
+
+    /** Draws text items directly, if enabled */
+    protected WheelTextRenderer mTextRenderer;
+
+    /** Items are of the same size and are laid out with no items layout measure pass */
+    protected boolean mFixedItemSize;
+
     // the rest
 
     /**
@@ -126,9 +160,21 @@ public abstract class AbstractWheelView extends AbstractWheel {
     protected static final String PROPERTY_SEPARATORS_PAINT_ALPHA = "separatorsPaintAlpha";
 
 
+    // Layers need alpha and clipping only, items layout saves and restores its own matrix
+    private static final int LAYER_SAVE_FLAGS = Canvas.HAS_ALPHA_LAYER_SAVE_FLAG | Canvas.CLIP_TO_LAYER_SAVE_FLAG;
+
     protected Bitmap mSpinBitmap;
     protected Bitmap mSeparatorsBitmap;
 
+    // Selector shaders, indexed by quantized coefficient
+    private Shader[] mSelectorShaders = new Shader[SELECTOR_SHADER_CACHE_STEPS + 1];
+    // Geometry the cached selector shaders have been created for
+    private int mSelectorShadersWidth;
+    private int mSelectorShadersHeight;
+    private int mSelectorShadersItemDimension;
+    private int mSelectorShadersVisibleItems;
+    private int mSelectorShadersDimmedAlpha;
+
 
     //--------------------------------------------------------------------------
     //
@@ -157,6 +203,11 @@ public abstract class AbstractWheelView extends AbstractWheel {
         mItemOffsetPercent = a.getInt(R.styleable.AbstractWheelView_itemOffsetPercent, DEF_ITEM_OFFSET_PERCENT);
         mItemsPadding = a.getDimensionPixelSize(R.styleable.AbstractWheelView_itemsPadding, DEF_ITEM_PADDING);
         mSelectionDivider = a.getDrawable(R.styleable.AbstractWheelView_selectionDivider);
+        mCompositingMode = a.getInt(R.styleable.AbstractWheelView_compositingMode, DEF_COMPOSITING_MODE);
+        if (a.getBoolean(R.styleable.AbstractWheelView_directTextRendering, false)) {
+            mTextRenderer = new WheelTextRenderer();
+        }
+        mFixedItemSize = a.getBoolean(R.styleable.AbstractWheelView_fixedItemSize, false);
         a.recycle();
     }
 
@@ -185,18 +236,52 @@ public abstract class AbstractWheelView extends AbstractWheel {
     }
 
     /**
-     * Recreates assets (like bitmaps) when layout size has been changed
+     * Recreates assets (like bitmaps) when layout size has been changed.
+     * Intermediate bitmaps are created for {@link #COMPOSITING_MODE_BITMAP}, or for
+     * {@link #COMPOSITING_MODE_LAYER} once it has fallen back to them on a software canvas.
      *
      * @param width New spinnerwheel width
      * @param height New spinnerwheel height
      */
     @Override
     protected void recreateAssets(int width, int height) {
-        mSpinBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-        mSeparatorsBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        if (mCompositingMode == COMPOSITING_MODE_BITMAP || mLayersFallback) {
+            mSpinBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mSeparatorsBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else {
+            mSpinBitmap = null;
+            mSeparatorsBitmap = null;
+        }
         setSelectorPaintCoeff(mPassiveCoeff);
     }
 
+    /**
+     * Gets compositing mode
+     *
+     * @return {@link #COMPOSITING_MODE_BITMAP} or {@link #COMPOSITING_MODE_LAYER}
+     */
+    public int getCompositingMode() {
+        return mCompositingMode;
+    }
+
+    /**
+     * Sets the way items are composited with selector and separators masks.
+     *
+     * @param compositingMode {@link #COMPOSITING_MODE_BITMAP} or {@link #COMPOSITING_MODE_LAYER}
+     */
+    public void setCompositingMode(int compositingMode) {
+        if (compositingMode != COMPOSITING_MODE_BITMAP && compositingMode != COMPOSITING_MODE_LAYER) {
+            throw new IllegalArgumentException("Unknown compositing mode: " + compositingMode);
+        }
+        if (mCompositingMode != compositingMode) {
+            mCompositingMode = compositingMode;
+            if (getMeasuredWidth() > 0 && getMeasuredHeight() > 0) {
+                recreateAssets(getMeasuredWidth(), getMeasuredHeight());
+            }
+            invalidate();
+        }
+    }
+
     /**
      * Sets the <code>alpha</code> of the {@link Paint} for drawing separators
      * spinnerwheel.
@@ -210,11 +295,137 @@ public abstract class AbstractWheelView extends AbstractWheel {
 
     /**
      * Sets the <code>coeff</code> of the {@link Paint} for drawing
-     * the selector spinnerwheel.
+     * the selector spinnerwheel. Shaders are cached per quantized coefficient,
+     * so repeated fades with the same geometry don't allocate.
      *
      * @param coeff Coefficient from 0 (selector is passive) to 1 (selector is active)
      */
-    abstract protected void setSelectorPaintCoeff(float coeff);
+    @SuppressWarnings("unused")  // Called via reflection
+    public void setSelectorPaintCoeff(float coeff) {
+        Shader shader;
+        if (coeff >= 0 && coeff <= 1) {
+            validateSelectorShaders();
+            int step = Math.round(coeff * SELECTOR_SHADER_CACHE_STEPS);
+            shader = mSelectorShaders[step];
+            if (shader == null) {
+                shader = createSelectorShader(step / (float) SELECTOR_SHADER_CACHE_STEPS);
+                mSelectorShaders[step] = shader;
+            }
+        } else {
+            shader = createSelectorShader(coeff);
+        }
+        if (shader != null) {
+            mSelectorWheelPaint.setShader(shader);
+            invalidate();
+        }
+    }
+
+    /**
+     * Drops cached selector shaders if geometry they have been created for has been changed
+     */
+    private void validateSelectorShaders() {
+        int w = getMeasuredWidth();
+        int h = getMeasuredHeight();
+        int itemDimension = getItemDimension();
+        if (w != mSelectorShadersWidth || h != mSelectorShadersHeight
+                || itemDimension != mSelectorShadersItemDimension
+                || mVisibleItems != mSelectorShadersVisibleItems
+                || mItemsDimmedAlpha != mSelectorShadersDimmedAlpha) {
+            for (int i = 0; i < mSelectorShaders.length; i++) {
+                mSelectorShaders[i] = null;
+            }
+            mSelectorShadersWidth = w;
+            mSelectorShadersHeight = h;
+            mSelectorShadersItemDimension = itemDimension;
+            mSelectorShadersVisibleItems = mVisibleItems;
+            mSelectorShadersDimmedAlpha = mItemsDimmedAlpha;
+        }
+    }
+
+    /**
+     * Creates the shader of the {@link Paint} for drawing the selector spinnerwheel.
+     *
+     * @param coeff Coefficient from 0 (selector is passive) to 1 (selector is active)
+     * @return the shader, or null if selector paint should be left as is
+     */
+    abstract protected Shader createSelectorShader(float coeff);
+
+    /**
+     * Enables drawing items text directly on canvas, with no item views created.
+     * Is applied to adapters implementing {@link WheelTextAdapter} which report their items as text only,
+     * other adapters are drawn with item views as usual.
+     *
+     * @param directTextRendering true to draw text items directly
+     */
+    public void setDirectTextRendering(boolean directTextRendering) {
+        if (directTextRendering != (mTextRenderer != null)) {
+            mTextRenderer = directTextRendering ? new WheelTextRenderer() : null;
+            invalidateItemsLayout(true);
+            requestLayout();
+        }
+    }
+
+    /**
+     * Checks whether items are drawn as text directly on canvas
+     *
+     * @return true if items are drawn with no item views
+     */
+    public boolean isDirectTextRendering() {
+        return mTextRenderer != null && mViewAdapter instanceof WheelTextAdapter
+                && ((WheelTextAdapter) mViewAdapter).isTextOnly();
+    }
+
+    /**
+     * Enables fixed item size mode. The first item is measured once and gives the size of all items,
+     * item views are then placed by offset, with no measure and layout pass of the whole items layout.
+     * Items are expected to be of the same size, which is the case for the spinnerwheel anyway.
+     *
+     * @param fixedItemSize true if all items have the same size
+     */
+    public void setFixedItemSize(boolean fixedItemSize) {
+        if (mFixedItemSize != fixedItemSize) {
+            mFixedItemSize = fixedItemSize;
+            requestLayout();
+            invalidate();
+        }
+    }
+
+    /**
+     * Checks whether fixed item size mode is enabled
+     *
+     * @return true if item views are placed by offset
+     */
+    public boolean isFixedItemSize() {
+        return mFixedItemSize;
+    }
+
+    @Override
+    public void invalidateItemsLayout(boolean clearCaches) {
+        if (mTextRenderer != null) {
+            mTextRenderer.invalidate();
+        }
+        super.invalidateItemsLayout(clearCaches);
+    }
+
+    @Override
+    public void swapAdapter(WheelViewAdapter viewAdapter, boolean keepViews) {
+        if (mTextRenderer != null) {
+            mTextRenderer.invalidate();
+        }
+        super.swapAdapter(viewAdapter, keepViews);
+    }
+
+    @Override
+    protected void rebindItems(int start, int count) {
+        if (mTextRenderer != null) {
+            mTextRenderer.invalidateItems(start, count);
+        }
+        super.rebindItems(start, count);
+        if (isDirectTextRendering()) {
+            // there are no item views to rebind, so drawn text is invalidated here
+            invalidate();
+        }
+    }
 
     public void setSelectionDivider(Drawable selectionDivider) {
         this.mSelectionDivider = selectionDivider;
@@ -310,11 +521,17 @@ public abstract class AbstractWheelView extends AbstractWheel {
         super.onDraw(canvas);
 
         if (mViewAdapter != null && mViewAdapter.getItemsCount() > 0) {
-            if (rebuildItems()) {
-                measureLayout();
+            if (!isDirectTextRendering()) {
+                if (rebuildItems()) {
+                    beginFrameSection(WheelFrameReport.SECTION_MEASURE);
+                    measureLayout();
+                    endFrameSection();
+                }
+                doItemsLayout();
             }
-            doItemsLayout();
+            beginFrameSection(WheelFrameReport.SECTION_COMPOSITING);
             drawItems(canvas);
+            endFrameSection();
         }
     }
 
@@ -323,5 +540,93 @@ public abstract class AbstractWheelView extends AbstractWheel {
      *
      * @param canvas the canvas for drawing
      */
-    abstract protected void drawItems(Canvas canvas);
+    protected void drawItems(Canvas canvas) {
+        if (mCompositingMode == COMPOSITING_MODE_LAYER && isHardwareAccelerated(canvas)) {
+            drawItemsWithLayers(canvas);
+        } else {
+            if (mSpinBitmap == null) {
+                if (getMeasuredWidth() <= 0 || getMeasuredHeight() <= 0) {
+                    return;
+                }
+                mLayersFallback = true;
+                recreateAssets(getMeasuredWidth(), getMeasuredHeight());
+            }
+            drawItemsWithBitmaps(canvas);
+        }
+    }
+
+    /**
+     * Checks whether the canvas is hardware accelerated, which is never the case before Android 3.0 (API Level 11).
+     *
+     * @param canvas the canvas for drawing
+     * @return true if offscreen layers of the canvas don't allocate bitmaps
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static boolean isHardwareAccelerated(Canvas canvas) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && canvas.isHardwareAccelerated();
+    }
+
+    /**
+     * Draws items via intermediate bitmaps, see {@link #COMPOSITING_MODE_BITMAP}
+     *
+     * @param canvas the canvas for drawing
+     */
+    abstract protected void drawItemsWithBitmaps(Canvas canvas);
+
+    /**
+     * Draws items via offscreen layers, see {@link #COMPOSITING_MODE_LAYER}
+     *
+     * @param canvas the canvas for drawing
+     */
+    protected void drawItemsWithLayers(Canvas canvas) {
+        int w = getMeasuredWidth();
+        int h = getMeasuredHeight();
+
+        int saveCount = canvas.saveLayer(0, 0, w, h, null, LAYER_SAVE_FLAGS);
+        drawItemsLayout(canvas);
+        canvas.drawRect(0, 0, w, h, mSelectorWheelPaint);
+        canvas.restoreToCount(saveCount);
+
+        if (mSelectionDivider != null) {
+            // separators mask is a plain alpha, so layer alpha does the same as DST_IN
+            saveCount = canvas.saveLayerAlpha(0, 0, w, h, mSeparatorsPaint.getAlpha(), LAYER_SAVE_FLAGS);
+            drawSelectionDividers(canvas);
+            canvas.restoreToCount(saveCount);
+        }
+    }
+
+    /**
+     * Draws items layout translated according to current item and scrolling offset
+     *
+     * @param canvas the canvas for drawing
+     */
+    abstract protected void drawItemsLayout(Canvas canvas);
+
+    /**
+     * Draws text item directly, see {@link #isDirectTextRendering()}
+     *
+     * @param canvas the canvas for drawing
+     * @param index the item index, may be out of bounds
+     * @param centerX x coordinate of the item center
+     * @param centerY y coordinate of the item center
+     */
+    protected void drawTextItem(Canvas canvas, int index, float centerX, float centerY) {
+        if (!isValidItemIndex(index)) {
+            return; // empty item
+        }
+        int count = mViewAdapter.getItemsCount();
+        while (index < 0) {
+            index += count;
+        }
+        index %= count;
+        mTextRenderer.drawItem(canvas, (WheelTextAdapter) mViewAdapter, index, index == mCurrentItemIdx,
+                centerX, centerY);
+    }
+
+    /**
+     * Draws selection dividers, if any
+     *
+     * @param canvas the canvas for drawing
+     */
+    abstract protected void drawSelectionDividers(Canvas canvas);
 }
@@ -0,0 +1,106 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+/**
+ * Bounded FIFO of recycled items backed by a ring buffer.
+ *
+ * @param <T> the item type
+ */
+final class ItemPool<T> {
+    private Object[] items;
+    private int head;
+    private int size;
+
+    /**
+     * Constructor
+     * @param capacity the maximum count of items
+     */
+    ItemPool(int capacity) {
+        items = new Object[Math.max(capacity, 0)];
+    }
+
+    /**
+     * Adds item to the pool. Drops the oldest item if pool is full.
+     * @param item the item to add
+     * @return false if some item was dropped
+     */
+    boolean offer(T item) {
+        if (items.length == 0) {
+            return false;
+        }
+        if (size == items.length) {
+            items[head] = item;
+            head = (head + 1) % items.length;
+            return false;
+        }
+        items[(head + size) % items.length] = item;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the oldest item from the pool
+     * @return the item or null if pool is empty
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T item = (T) items[head];
+        items[head] = null;
+        head = (head + 1) % items.length;
+        size--;
+        return item;
+    }
+
+    void clear() {
+        for (int i = 0; i < items.length; i++) {
+            items[i] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Changes pool capacity, keeping the most recent items
+     * @param capacity the new capacity
+     */
+    void setCapacity(int capacity) {
+        capacity = Math.max(capacity, 0);
+        if (capacity == items.length) {
+            return;
+        }
+        Object[] resized = new Object[capacity];
+        int kept = Math.min(size, capacity);
+        for (int i = 0; i < kept; i++) {
+            resized[i] = items[(head + size - kept + i) % items.length];
+        }
+        items = resized;
+        head = 0;
+        size = kept;
+    }
+}
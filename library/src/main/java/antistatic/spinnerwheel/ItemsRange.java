@@ -50,6 +50,16 @@ package antistatic.spinnerwheel;
             this.first = first;
             this.count = count;
         }
+
+        /**
+         * Updates the range, so the same instance may be reused from frame to frame
+         * @param first the number of first item
+         * @param count the count of items
+         */
+        void set(int first, int count) {
+            this.first = first;
+            this.count = count;
+        }
         
         /**
          * Gets number of  first item
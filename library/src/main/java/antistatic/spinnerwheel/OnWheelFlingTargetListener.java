@@ -0,0 +1,39 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+/**
+ * Wheel fling target listener interface.
+ * <p>The onFlingTarget() method is called when fling starts and the item fling will stop at is known,
+ * so data for that item can be prepared while spinnerwheel is still scrolling.
+ */
+public interface OnWheelFlingTargetListener {
+	/**
+	 * Callback method to be invoked when fling starts
+	 * @param wheel the spinnerwheel view being flung
+	 * @param targetItem the predicted index of item fling will stop at
+	 */
+	void onFlingTarget(AbstractWheel wheel, int targetItem);
+}
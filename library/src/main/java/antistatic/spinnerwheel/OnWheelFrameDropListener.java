@@ -0,0 +1,40 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+/**
+ * Wheel frame drop listener interface.
+ * <p>The onFrameDropped() method is called when spinnerwheel work in a frame drawn during
+ * fling or justifying exceeds the frame budget, with the frame time attributed to measuring,
+ * rebuilding, adapter binds and compositing.
+ */
+public interface OnWheelFrameDropListener {
+	/**
+	 * Callback method to be invoked when frame is over budget
+	 * @param wheel the spinnerwheel view
+	 * @param report the frame report, valid only within this call
+	 */
+	void onFrameDropped(AbstractWheel wheel, WheelFrameReport report);
+}
@@ -0,0 +1,216 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import java.util.Locale;
+
+/**
+ * Report of a frame where spinnerwheel work exceeded the frame budget.
+ * <p>Frame time is the time spent by spinnerwheel itself in measuring and drawing during
+ * the frame. It is attributed to sections, each section accounts only the time
+ * not spent in the sections nested in it, so section times sum up to the frame time.
+ * <p>The report is reused for the following frames, so it is only valid within
+ * {@link OnWheelFrameDropListener#onFrameDropped(AbstractWheel, WheelFrameReport)}.
+ */
+public final class WheelFrameReport {
+
+    /** Measuring of spinnerwheel and items layout */
+    public static final int SECTION_MEASURE     = 0;
+    /** Rebuilding of items layout, excluding adapter binds */
+    public static final int SECTION_REBUILD     = 1;
+    /** Binding of item views by adapter */
+    public static final int SECTION_BIND        = 2;
+    /** Drawing and compositing of items */
+    public static final int SECTION_COMPOSITING = 3;
+    /** The rest of drawing, like background */
+    public static final int SECTION_OTHER       = 4;
+
+    private static final int SECTIONS_COUNT = 5;
+
+    private static final String[] SECTION_NAMES = new String[] {
+            "measure", "rebuild", "bind", "compositing", "other"
+    };
+
+    // Max depth of nested sections
+    private static final int MAX_DEPTH = 8;
+
+    private final long budgetNanos;
+    private final long[] sectionNanos = new long[SECTIONS_COUNT];
+    private int bindsCount;
+    private int scrollingPhase;
+
+    // Stack of entered sections
+    private final int[] sections = new int[MAX_DEPTH];
+    private int depth;
+    // Time the innermost section has been entered or resumed at
+    private long resumedAt;
+
+    /**
+     * Constructor
+     * @param budgetNanos the frame budget, in nanoseconds
+     */
+    WheelFrameReport(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Gets frame budget
+     * @return the budget, in nanoseconds
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Gets time spent by spinnerwheel in the frame
+     * @return the frame time, in nanoseconds
+     */
+    public long getDurationNanos() {
+        long duration = 0;
+        for (long nanos : sectionNanos) {
+            duration += nanos;
+        }
+        return duration;
+    }
+
+    /**
+     * Gets time attributed to specified section
+     * @param section the section, one of SECTION_* constants
+     * @return the section time, in nanoseconds
+     */
+    public long getSectionNanos(int section) {
+        return sectionNanos[section];
+    }
+
+    /**
+     * Gets section most of frame time is attributed to
+     * @return the section, one of SECTION_* constants
+     */
+    public int getDominantSection() {
+        int dominant = 0;
+        for (int i = 1; i < SECTIONS_COUNT; i++) {
+            if (sectionNanos[i] > sectionNanos[dominant]) {
+                dominant = i;
+            }
+        }
+        return dominant;
+    }
+
+    /**
+     * Gets count of item views bound by adapter in the frame
+     * @return the binds count
+     */
+    public int getBindsCount() {
+        return bindsCount;
+    }
+
+    /**
+     * Gets scrolling phase the frame has been drawn in
+     * @return {@link WheelScroller#PHASE_FLINGING} or {@link WheelScroller#PHASE_JUSTIFYING}
+     */
+    public int getScrollingPhase() {
+        return scrollingPhase;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%.2f ms of %.2f ms budget while %s:",
+                getDurationNanos() / 1e6f, budgetNanos / 1e6f,
+                scrollingPhase == WheelScroller.PHASE_JUSTIFYING ? "justifying" : "flinging"));
+        for (int i = 0; i < SECTIONS_COUNT; i++) {
+            sb.append(String.format(Locale.US, " %s %.2f ms", SECTION_NAMES[i], sectionNanos[i] / 1e6f));
+            if (i == SECTION_BIND) {
+                sb.append(" (").append(bindsCount).append(')');
+            }
+            sb.append(i < SECTIONS_COUNT - 1 ? ',' : '.');
+        }
+        return sb.toString();
+    }
+
+    //--------------------------------------------------------------------------
+    //
+    //  Time accounting
+    //
+    //--------------------------------------------------------------------------
+
+    /**
+     * Enters section, suspending accounting of the enclosing one
+     * @param section the section to enter
+     */
+    void beginSection(int section) {
+        long now = System.nanoTime();
+        if (depth > 0) {
+            sectionNanos[sections[depth - 1]] += now - resumedAt;
+        }
+        if (depth < MAX_DEPTH) {
+            sections[depth] = section;
+        }
+        depth++;
+        if (section == SECTION_BIND) {
+            bindsCount++;
+        }
+        resumedAt = now;
+    }
+
+    /**
+     * Leaves the innermost section, resuming accounting of the enclosing one
+     */
+    void endSection() {
+        if (depth == 0) {
+            return; // detection has been enabled within the section
+        }
+        long now = System.nanoTime();
+        depth--;
+        sectionNanos[sections[Math.min(depth, MAX_DEPTH - 1)]] += now - resumedAt;
+        resumedAt = now;
+    }
+
+    /**
+     * Checks whether frame exceeds budget
+     * @return true if frame time is over budget
+     */
+    boolean isOverBudget() {
+        return getDurationNanos() > budgetNanos;
+    }
+
+    /**
+     * Sets scrolling phase of the frame
+     * @param phase the scrolling phase
+     */
+    void setScrollingPhase(int phase) {
+        scrollingPhase = phase;
+    }
+
+    /**
+     * Clears accounted times to start the next frame
+     */
+    void reset() {
+        for (int i = 0; i < SECTIONS_COUNT; i++) {
+            sectionNanos[i] = 0;
+        }
+        bindsCount = 0;
+    }
+}
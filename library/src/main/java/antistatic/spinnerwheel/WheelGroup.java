@@ -0,0 +1,327 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.os.Handler;
+import android.os.Looper;
+import antistatic.spinnerwheel.adapters.WheelViewAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller of several linked spinnerwheels, where current item of one spinnerwheel
+ * defines data of the others (like country and city, or year, month and day).
+ * <p>Changes of the wheels are collected and propagated to the dependent wheels once per frame,
+ * then group listeners are notified with a single event. Adapters of dependent wheels are swapped
+ * with {@link AbstractWheel#swapAdapter(WheelViewAdapter, boolean)}, so item views are kept
+ * when adapters have compatible view types.
+ */
+public class WheelGroup {
+
+    /**
+     * Dependency of one spinnerwheel on another
+     */
+    public static abstract class Dependency {
+        /**
+         * Gets adapter of the dependent spinnerwheel for the current item of the source one
+         *
+         * @param source the source spinnerwheel
+         * @param sourceItem the current item of the source spinnerwheel
+         * @param currentAdapter the current adapter of the dependent spinnerwheel
+         * @return the adapter to set, may be the current one
+         */
+        public abstract WheelViewAdapter getAdapter(AbstractWheel source, int sourceItem,
+                                                    WheelViewAdapter currentAdapter);
+
+        /**
+         * Gets item to be current in the dependent spinnerwheel once adapter is set.
+         * By default current item is kept, limited by the new items count.
+         *
+         * @param source the source spinnerwheel
+         * @param sourceItem the current item of the source spinnerwheel
+         * @param target the dependent spinnerwheel
+         * @return the item index, or -1 to keep the current item
+         */
+        public int getTargetItem(AbstractWheel source, int sourceItem, AbstractWheel target) {
+            return -1;
+        }
+    }
+
+    /**
+     * Group changed listener interface
+     */
+    public interface OnWheelGroupChangedListener {
+        /**
+         * Callback method to be invoked once changes of the group wheels have been propagated
+         *
+         * @param group the group whose state has changed
+         */
+        void onGroupChanged(WheelGroup group);
+    }
+
+    /**
+     * Link between source and dependent wheels
+     */
+    private static class Link {
+        final AbstractWheel source;
+        final AbstractWheel target;
+        final Dependency dependency;
+
+        Link(AbstractWheel source, AbstractWheel target, Dependency dependency) {
+            this.source = source;
+            this.target = target;
+            this.dependency = dependency;
+        }
+    }
+
+    private final List<AbstractWheel> wheels = new ArrayList<AbstractWheel>();
+    private final List<Link> links = new ArrayList<Link>();
+    private boolean[] changed = new boolean[0];
+    private boolean updatePending;
+    private boolean updating;
+
+    private final WheelListenerList<OnWheelGroupChangedListener> groupListeners =
+            new WheelListenerList<OnWheelGroupChangedListener>(new OnWheelGroupChangedListener[0]);
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final Runnable updateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            update();
+        }
+    };
+
+    private final OnWheelChangedListener changedListener = new OnWheelChangedListener() {
+        @Override
+        public void onChanged(AbstractWheel wheel, int oldValue, int newValue) {
+            int index = wheels.indexOf(wheel);
+            if (index != -1) {
+                changed[index] = true;
+                if (!updating && !updatePending) {
+                    updatePending = true;
+                    handler.post(updateRunnable);
+                }
+            }
+        }
+    };
+
+    /**
+     * Constructor
+     *
+     * @param wheels the wheels of the group, sources are expected to go before their dependent wheels
+     */
+    public WheelGroup(AbstractWheel... wheels) {
+        for (AbstractWheel wheel : wheels) {
+            addWheel(wheel);
+        }
+    }
+
+    /**
+     * Adds spinnerwheel to the group
+     *
+     * @param wheel the spinnerwheel
+     */
+    public void addWheel(AbstractWheel wheel) {
+        if (wheels.contains(wheel)) {
+            return;
+        }
+        wheels.add(wheel);
+        boolean[] newChanged = new boolean[wheels.size()];
+        System.arraycopy(changed, 0, newChanged, 0, changed.length);
+        changed = newChanged;
+        wheel.addChangingListener(changedListener);
+    }
+
+    /**
+     * Removes spinnerwheel from the group, along with its dependencies
+     *
+     * @param wheel the spinnerwheel
+     */
+    public void removeWheel(AbstractWheel wheel) {
+        int index = wheels.indexOf(wheel);
+        if (index == -1) {
+            return;
+        }
+        wheel.removeChangingListener(changedListener);
+        wheels.remove(index);
+        boolean[] newChanged = new boolean[wheels.size()];
+        System.arraycopy(changed, 0, newChanged, 0, index);
+        System.arraycopy(changed, index + 1, newChanged, index, newChanged.length - index);
+        changed = newChanged;
+        for (int i = links.size() - 1; i >= 0; i--) {
+            Link link = links.get(i);
+            if (link.source == wheel || link.target == wheel) {
+                links.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Gets count of wheels in the group
+     *
+     * @return the wheels count
+     */
+    public int getWheelsCount() {
+        return wheels.size();
+    }
+
+    /**
+     * Gets spinnerwheel of the group
+     *
+     * @param index the index of spinnerwheel, in order of adding
+     * @return the spinnerwheel
+     */
+    public AbstractWheel getWheel(int index) {
+        return wheels.get(index);
+    }
+
+    /**
+     * Gets current item of the group spinnerwheel
+     *
+     * @param index the index of spinnerwheel, in order of adding
+     * @return the current item of spinnerwheel
+     */
+    public int getCurrentItem(int index) {
+        return wheels.get(index).getCurrentItem();
+    }
+
+    /**
+     * Makes one spinnerwheel depend on the current item of another. Both wheels are added to the group,
+     * if needed, and the dependent one is updated right away.
+     *
+     * @param source the source spinnerwheel
+     * @param target the dependent spinnerwheel
+     * @param dependency the dependency
+     */
+    public void addDependency(AbstractWheel source, AbstractWheel target, Dependency dependency) {
+        addWheel(source);
+        addWheel(target);
+        Link link = new Link(source, target, dependency);
+        links.add(link);
+        apply(link);
+    }
+
+    /**
+     * Adds group changed listener
+     *
+     * @param listener the listener
+     */
+    public void addGroupChangedListener(OnWheelGroupChangedListener listener) {
+        groupListeners.add(listener);
+    }
+
+    /**
+     * Removes group changed listener
+     *
+     * @param listener the listener
+     */
+    public void removeGroupChangedListener(OnWheelGroupChangedListener listener) {
+        groupListeners.remove(listener);
+    }
+
+    /**
+     * Propagates pending changes right away, with no waiting for the next frame
+     */
+    public void update() {
+        handler.removeCallbacks(updateRunnable);
+        updatePending = false;
+        boolean notify = false;
+        updating = true;
+        try {
+            // every pass moves changes one level down, so wheels count of passes is enough for any acyclic graph
+            for (int pass = 0; pass < wheels.size(); pass++) {
+                boolean found = false;
+                for (int i = 0; i < changed.length; i++) {
+                    if (changed[i]) {
+                        changed[i] = false;
+                        found = true;
+                        applyDependencies(wheels.get(i));
+                    }
+                }
+                if (!found) {
+                    break;
+                }
+                notify = true;
+            }
+        } finally {
+            updating = false;
+        }
+        if (notify) {
+            for (OnWheelGroupChangedListener listener : groupListeners.getListeners()) {
+                listener.onGroupChanged(this);
+            }
+        }
+    }
+
+    /**
+     * Updates wheels depending on the source one
+     *
+     * @param source the source spinnerwheel
+     */
+    private void applyDependencies(AbstractWheel source) {
+        for (int i = 0, cnt = links.size(); i < cnt; i++) {
+            Link link = links.get(i);
+            if (link.source == source) {
+                apply(link);
+            }
+        }
+    }
+
+    /**
+     * Sets adapter and current item of dependent spinnerwheel
+     *
+     * @param link the dependency link
+     */
+    private void apply(Link link) {
+        AbstractWheel target = link.target;
+        int sourceItem = link.source.getCurrentItem();
+        WheelViewAdapter oldAdapter = target.getViewAdapter();
+        WheelViewAdapter adapter = link.dependency.getAdapter(link.source, sourceItem, oldAdapter);
+        if (adapter != oldAdapter) {
+            target.swapAdapter(adapter, true);
+        }
+
+        int count = adapter != null ? adapter.getItemsCount() : 0;
+        if (count == 0) {
+            return;
+        }
+        int item = link.dependency.getTargetItem(link.source, sourceItem, target);
+        if (item == -1) {
+            item = target.getCurrentItem();
+        }
+        item = Math.max(0, Math.min(item, count - 1));
+        if (item != target.getCurrentItem()) {
+            target.setCurrentItem(item, false);
+        } else if (adapter != oldAdapter) {
+            // current item is the same, but its data is not
+            int index = wheels.indexOf(target);
+            if (index != -1) {
+                changed[index] = true;
+            }
+        }
+    }
+}
@@ -65,4 +65,9 @@ public class WheelHorizontalScroller extends WheelScroller {
         final int minPosition = -maxPosition;
         scroller.fling(position, 0, -velocityX, 0, minPosition, maxPosition, 0, 0);
     }
+
+    @Override
+    protected int getScrollerVelocity(int velocityX, int velocityY) {
+        return -velocityX;
+    }
 }
@@ -30,11 +30,12 @@ import android.graphics.Canvas;
 import android.graphics.LinearGradient;
 import android.graphics.Shader;
 import android.util.AttributeSet;
-import android.util.Log;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup.LayoutParams;
 import android.widget.LinearLayout;
+import antistatic.spinnerwheel.adapters.WheelTextAdapter;
+import antistatic.spinnerwheel.adapters.WheelViewAdapter;
 
 /**
  * Spinner wheel horizontal view.
@@ -56,6 +57,13 @@ public class WheelHorizontalView extends AbstractWheelView {
 
     // Item width
     private int itemWidth = 0;
+    // Item width when text items are drawn directly
+    private int mTextItemWidth = 0;
+    // Range of text items being drawn, reused from frame to frame
+    private final ItemsRange mTextItemsRange = new ItemsRange();
+    public Canvas mC;
+    public Canvas mCSpin;
+    public Canvas mCSeparators;
 
     //--------------------------------------------------------------------------
     //
@@ -113,10 +121,21 @@ public class WheelHorizontalView extends AbstractWheelView {
         this.mSelectionDividerWidth = selectionDividerWidth;
     }
 
+    @Override protected void recreateAssets(int width, int height) {
+        super.recreateAssets(width, height);
+        if (mSpinBitmap != null) {
+            mC = new Canvas(mSpinBitmap);
+            mCSpin = new Canvas(mSpinBitmap);
+            mCSeparators = new Canvas(mSeparatorsBitmap);
+        } else {
+            mC = mCSpin = mCSeparators = null;
+        }
+    }
+
     @Override
-    public void setSelectorPaintCoeff(float coeff) {
+    protected Shader createSelectorShader(float coeff) {
         if (mItemsDimmedAlpha >= 100)
-            return;
+            return null;
 
         LinearGradient shader;
 
@@ -149,8 +168,7 @@ public class WheelHorizontalView extends AbstractWheelView {
             float[] positions = { 0, p3, p3, p1, p1, p2, p2, p4, p4, 1 };
             shader = new LinearGradient(0, 0, w, 0, colors, positions, Shader.TileMode.CLAMP);
         }
-        mSelectorWheelPaint.setShader(shader);
-        invalidate();
+        return shader;
     }
 
 
@@ -182,12 +200,49 @@ public class WheelHorizontalView extends AbstractWheelView {
         return getWidth();
     }
 
+    /**
+     * Checks whether items may be placed by offset, i.e. fixed item size mode is on
+     * and the prototype item has been measured already
+     *
+     * @return true if items layout measure pass is not needed
+     */
+    private boolean isFixedItemsLayout() {
+        return mFixedItemSize && itemWidth != 0;
+    }
+
+    /**
+     * Places item views one after another, measuring only those which are new or requested layout
+     */
+    private void layoutFixedSizeItems() {
+        int h = getMeasuredHeight() - 2 * mItemsPadding;
+        int iw = itemWidth;
+        int left = 0;
+        for (int i = 0, cnt = mItemsLayout.getChildCount(); i < cnt; i++, left += iw) {
+            View child = mItemsLayout.getChildAt(i);
+            if (child.isLayoutRequested() || child.getMeasuredWidth() != iw || child.getMeasuredHeight() != h) {
+                child.measure(MeasureSpec.makeMeasureSpec(iw, MeasureSpec.EXACTLY),
+                        MeasureSpec.makeMeasureSpec(h, MeasureSpec.EXACTLY));
+            }
+            if (child.isLayoutRequested() || child.getLeft() != left
+                    || child.getWidth() != iw || child.getHeight() != h) {
+                child.layout(left, 0, left + iw, h);
+            }
+        }
+    }
+
     /**
      * Returns height of spinnerwheel item
      * @return the item width
      */
     @Override
     protected int getItemDimension() {
+        if (isDirectTextRendering()) {
+            if (mTextItemWidth == 0) {
+                mTextItemWidth = measureTextItemsWidth();
+            }
+            return mTextItemWidth;
+        }
+
         if (itemWidth != 0) {
             return itemWidth;
         }
@@ -200,28 +255,25 @@ public class WheelHorizontalView extends AbstractWheelView {
         return getBaseDimension() / mVisibleItems;
     }
 
-    //--------------------------------------------------------------------------
-    //
-    //  Debugging stuff
-    //
-    //--------------------------------------------------------------------------
-
-
     @Override
-    protected void onScrollTouchedUp() {
-        super.onScrollTouchedUp();
-        int cnt = mItemsLayout.getChildCount();
-        View itm;
-        Log.e(LOG_TAG, " ----- layout: " + mItemsLayout.getMeasuredWidth() + mItemsLayout.getMeasuredHeight());
-        Log.e(LOG_TAG, " -------- dumping " + cnt + " items");
-        for (int i = 0; i < cnt; i++) {
-            itm = mItemsLayout.getChildAt(i);
-            Log.e(LOG_TAG, " item #" + i + ": " + itm.getWidth() + "x" + itm.getHeight());
-            itm.forceLayout(); // forcing layout without re-rendering parent
+    public void invalidateItemsLayout(boolean clearCaches) {
+        if (clearCaches) {
+            mTextItemWidth = 0;
         }
-        Log.e(LOG_TAG, " ---------- dumping finished ");
+        super.invalidateItemsLayout(clearCaches);
+    }
+
+    @Override
+    protected void onItemsChanged() {
+        // changed text may be wider
+        mTextItemWidth = 0;
     }
 
+    @Override
+    public void swapAdapter(WheelViewAdapter viewAdapter, boolean keepViews) {
+        mTextItemWidth = 0;
+        super.swapAdapter(viewAdapter, keepViews);
+    }
 
     //--------------------------------------------------------------------------
     //
@@ -240,22 +292,45 @@ public class WheelHorizontalView extends AbstractWheelView {
         }
     }
 
+    /**
+     * Lays out items layout. Its width is the total width of items rather than
+     * spinnerwheel width, so items beyond spinnerwheel bounds are not clipped out
+     * and are laid out at the same size they were measured with.
+     */
     @Override
     protected void doItemsLayout() {
-        mItemsLayout.layout(0, 0, getMeasuredWidth(), getMeasuredHeight() - 2 * mItemsPadding);
+        if (mItemsLayout != null) {
+            boolean fixed = isFixedItemsLayout();
+            int w = fixed ? mItemsLayout.getChildCount() * itemWidth : mItemsLayout.getMeasuredWidth();
+            mItemsLayout.layout(0, 0, w, getMeasuredHeight() - 2 * mItemsPadding);
+            if (fixed) {
+                layoutFixedSizeItems();
+            }
+        }
     }
 
     @Override
     protected void measureLayout() {
+        if (isFixedItemsLayout()) {
+            // items are measured one by one in layoutFixedSizeItems()
+            return;
+        }
         mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-        // XXX: Locating bug
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(getWidth() + getItemDimension(), MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(getHeight(), MeasureSpec.AT_MOST));
+        measureItemsLayout(getHeight() - 2 * mItemsPadding);
     }
 
-    //XXX: Most likely, measurements of mItemsLayout or/and its children are done inconrrectly.
-    // Investigate and fix it
+    /**
+     * Measures items layout: items get their own width, and their height is the height
+     * items layout is laid out with, so no forced relayout of items is needed after measuring
+     *
+     * @param height the items layout height
+     */
+    private void measureItemsLayout(int height) {
+        mItemsLayout.measure(
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
+                MeasureSpec.makeMeasureSpec(Math.max(height, 0), MeasureSpec.EXACTLY)
+        );
+    }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
@@ -264,7 +339,10 @@ public class WheelHorizontalView extends AbstractWheelView {
         int widthSize = MeasureSpec.getSize(widthMeasureSpec);
         int heightSize = MeasureSpec.getSize(heightMeasureSpec);
 
-        rebuildItems(); // rebuilding before measuring
+        beginFrameSection(WheelFrameReport.SECTION_MEASURE);
+        if (!isDirectTextRendering()) {
+            rebuildItems(); // rebuilding before measuring
+        }
 
         int height = calculateLayoutHeight(heightSize, heightMode);
 
@@ -281,6 +359,7 @@ public class WheelHorizontalView extends AbstractWheelView {
                 width = Math.min(width, widthSize);
             }
         }
+        endFrameSection();
         setMeasuredDimension(width, height);
     }
 
@@ -292,12 +371,18 @@ public class WheelHorizontalView extends AbstractWheelView {
      * @return the calculated control height
      */
     private int calculateLayoutHeight(int heightSize, int mode) {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(heightSize, MeasureSpec.UNSPECIFIED)
-                );
-        int height = mItemsLayout.getMeasuredHeight();
+        boolean isDirectTextRendering = isDirectTextRendering();
+        int height;
+        if (isDirectTextRendering) {
+            height = mTextRenderer.getLineHeight((WheelTextAdapter) mViewAdapter);
+        } else {
+            mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
+            mItemsLayout.measure(
+                    MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
+                    MeasureSpec.makeMeasureSpec(heightSize, MeasureSpec.UNSPECIFIED)
+                    );
+            height = mItemsLayout.getMeasuredHeight();
+        }
 
         if (mode == MeasureSpec.EXACTLY) {
             height = heightSize;
@@ -311,16 +396,32 @@ public class WheelHorizontalView extends AbstractWheelView {
                 height = heightSize;
             }
         }
-        // forcing recalculating
-        mItemsLayout.measure(
-                // MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(400, MeasureSpec.EXACTLY),
-                MeasureSpec.makeMeasureSpec(height - 2 * mItemsPadding, MeasureSpec.EXACTLY)
-        );
+        if (!isDirectTextRendering) {
+            // measuring items with the final height
+            measureItemsLayout(height - 2 * mItemsPadding);
+        }
 
         return height;
     }
 
+    /**
+     * Measures the widest text among items around the current one.
+     * Range of visible items depends on item width, so it is not used here.
+     * @return the text width
+     */
+    private int measureTextItemsWidth() {
+        WheelTextAdapter adapter = (WheelTextAdapter) mViewAdapter;
+        int count = mViewAdapter.getItemsCount();
+        int width = 0;
+        for (int i = mCurrentItemIdx - mVisibleItems / 2; i <= mCurrentItemIdx + mVisibleItems / 2; i++) {
+            if (isValidItemIndex(i)) {
+                int index = ((i % count) + count) % count;
+                width = Math.max(width, mTextRenderer.measureTextWidth(adapter, index));
+            }
+        }
+        return width;
+    }
+
 
     //--------------------------------------------------------------------------
     //
@@ -329,52 +430,86 @@ public class WheelHorizontalView extends AbstractWheelView {
     //--------------------------------------------------------------------------
 
     @Override
-    protected void drawItems(Canvas canvas) {
+    protected void drawItemsWithBitmaps(Canvas canvas) {
         canvas.save();
         int w = getMeasuredWidth();
         int h = getMeasuredHeight();
-        int iw = getItemDimension();
 
         // resetting intermediate bitmap and recreating canvases
         mSpinBitmap.eraseColor(0);
-        Canvas c = new Canvas(mSpinBitmap);
-        Canvas cSpin = new Canvas(mSpinBitmap);
+        mCSpin.save();
 
-        int left = (mCurrentItemIdx - mFirstItemIdx) * iw + (iw - getWidth()) / 2;
-        c.translate(- left + mScrollingOffset, mItemsPadding);
-        mItemsLayout.draw(c);
+        drawItemsLayout(mC);
 
         mSeparatorsBitmap.eraseColor(0);
-        Canvas cSeparators = new Canvas(mSeparatorsBitmap);
+        drawSelectionDividers(mCSeparators);
+
+        mCSpin.drawRect(0, 0, w, h, mSelectorWheelPaint);
+        mCSeparators.drawRect(0, 0, w, h, mSeparatorsPaint);
+
+        canvas.drawBitmap(mSpinBitmap, 0, 0, null);
+        canvas.drawBitmap(mSeparatorsBitmap, 0, 0, null);
+        canvas.restore();
+        mCSpin.restore();
+    }
+
+    @Override
+    protected void drawItemsLayout(Canvas canvas) {
+        if (isDirectTextRendering()) {
+            drawTextItems(canvas);
+            return;
+        }
+
+        int iw = getItemDimension();
+        canvas.save();
+        int left = (mCurrentItemIdx - mFirstItemIdx) * iw + (iw - getWidth()) / 2;
+        canvas.translate(- left + mScrollingOffset, mItemsPadding);
+        mItemsLayout.draw(canvas);
+        canvas.restore();
+    }
 
+    /**
+     * Draws visible text items directly
+     *
+     * @param canvas the canvas for drawing
+     */
+    private void drawTextItems(Canvas canvas) {
+        ItemsRange range = getItemsRange(mTextItemsRange);
+        int iw = getItemDimension();
+        float centerX = (range.getFirst() - mCurrentItemIdx) * iw + getWidth() / 2f + mScrollingOffset;
+        float centerY = getHeight() / 2f;
+        for (int i = range.getFirst(); i <= range.getLast(); i++) {
+            drawTextItem(canvas, i, centerX, centerY);
+            centerX += iw;
+        }
+    }
+
+    @Override
+    protected void drawSelectionDividers(Canvas canvas) {
         if (mSelectionDivider != null) {
+            int h = getMeasuredHeight();
+            int iw = getItemDimension();
+
             // draw the top divider
             int leftOfLeftDivider = (getWidth() - iw - mSelectionDividerWidth) / 2;
             int rightOfLeftDivider = leftOfLeftDivider + mSelectionDividerWidth;
-            cSeparators.save();
+            canvas.save();
             // On Gingerbread setBounds() is ignored resulting in an ugly visual bug.
-            cSeparators.clipRect(leftOfLeftDivider, 0, rightOfLeftDivider, h);
+            canvas.clipRect(leftOfLeftDivider, 0, rightOfLeftDivider, h);
             mSelectionDivider.setBounds(leftOfLeftDivider, 0, rightOfLeftDivider, h);
-            mSelectionDivider.draw(cSeparators);
-            cSeparators.restore();
+            mSelectionDivider.draw(canvas);
+            canvas.restore();
 
-            cSeparators.save();
+            canvas.save();
             // draw the bottom divider
             int leftOfRightDivider =  leftOfLeftDivider + iw;
             int rightOfRightDivider = rightOfLeftDivider + iw;
             // On Gingerbread setBounds() is ignored resulting in an ugly visual bug.
-            cSeparators.clipRect(leftOfRightDivider, 0, rightOfRightDivider, h);
+            canvas.clipRect(leftOfRightDivider, 0, rightOfRightDivider, h);
             mSelectionDivider.setBounds(leftOfRightDivider, 0, rightOfRightDivider, h);
-            mSelectionDivider.draw(cSeparators);
-            cSeparators.restore();
+            mSelectionDivider.draw(canvas);
+            canvas.restore();
         }
-
-        cSpin.drawRect(0, 0, w, h, mSelectorWheelPaint);
-        cSeparators.drawRect(0, 0, w, h, mSeparatorsPaint);
-
-        canvas.drawBitmap(mSpinBitmap, 0, 0, null);
-        canvas.drawBitmap(mSeparatorsBitmap, 0, 0, null);
-        canvas.restore();
     }
 
 }
@@ -0,0 +1,82 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write list of listeners.
+ * <p>Listeners are kept in an array which is replaced on every add or remove, so dispatching
+ * iterates over {@link #getListeners()} with no allocations, and listeners are free to add or remove
+ * listeners, themselves included, while being notified.
+ *
+ * @param <T> the listener type
+ */
+public final class WheelListenerList<T> {
+
+    private volatile T[] listeners;
+
+    /**
+     * Constructor
+     * @param empty the empty array of listener type
+     */
+    public WheelListenerList(T[] empty) {
+        listeners = empty;
+    }
+
+    /**
+     * Adds listener
+     * @param listener the listener
+     */
+    public synchronized void add(T listener) {
+        T[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * Removes the first occurrence of listener, if it is present
+     * @param listener the listener
+     */
+    public synchronized void remove(T listener) {
+        T[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener || (listener != null && listener.equals(current[i]))) {
+                T[] newListeners = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, newListeners, i, current.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets listeners to notify. The array is never modified and must not be modified by caller.
+     * @return the current listeners
+     */
+    public T[] getListeners() {
+        return listeners;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+/**
+ * Scrolling and items range arithmetic of the spinnerwheel.
+ */
+final class WheelMath {
+
+    private WheelMath() {
+    }
+
+    /**
+     * Calculates count of items passed by scrolling. Item is considered passed once
+     * it is scrolled by more than a half, non-cyclic spinnerwheel stops at the first and the last items.
+     *
+     * @param scrollingOffset the scrolling offset
+     * @param itemDimension the item height or width
+     * @param currentItem the current item index
+     * @param itemCount the count of items
+     * @param cyclic true if spinnerwheel is cyclic
+     * @return count of items, current item index is decreased by it
+     */
+    static int getScrolledItemsCount(int scrollingOffset, int itemDimension, int currentItem,
+                                     int itemCount, boolean cyclic) {
+        int count = scrollingOffset / itemDimension;
+        int pos = currentItem - count;
+
+        int fixPos = scrollingOffset % itemDimension;
+        if (Math.abs(fixPos) <= itemDimension / 2) {
+            fixPos = 0;
+        }
+        if (cyclic && itemCount > 0) {
+            if (fixPos > 0) {
+                count++;
+            } else if (fixPos < 0) {
+                count--;
+            }
+        } else {
+            if (pos < 0) {
+                count = currentItem;
+            } else if (pos >= itemCount) {
+                count = currentItem - itemCount + 1;
+            } else if (pos > 0 && fixPos > 0) {
+                count++;
+            } else if (pos < itemCount - 1 && fixPos < 0) {
+                count--;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Calculates scrolling offset left once items are passed
+     *
+     * @param scrollingOffset the scrolling offset
+     * @param count the count of passed items
+     * @param itemDimension the item height or width
+     * @param baseDimension the spinnerwheel height or width
+     * @return the new scrolling offset
+     */
+    static int getScrolledOffset(int scrollingOffset, int count, int itemDimension, int baseDimension) {
+        int offset = scrollingOffset - count * itemDimension;
+        if (offset > baseDimension) {
+            offset = offset % baseDimension + baseDimension;
+        }
+        return offset;
+    }
+
+    /**
+     * Rotates index of cyclic spinnerwheel item into items range
+     *
+     * @param index the item index
+     * @param itemCount the count of items, positive
+     * @return the index from 0 to itemCount - 1
+     */
+    static int normalizeIndex(int index, int itemCount) {
+        index %= itemCount;
+        return index < 0 ? index + itemCount : index;
+    }
+
+    /**
+     * Calculates range of items to be shown
+     *
+     * @param currentItem the current item index
+     * @param visibleItems the count of visible items
+     * @param scrollingOffset the scrolling offset
+     * @param cyclic true if spinnerwheel is cyclic
+     * @param itemCount the count of items
+     * @return the items range
+     */
+    static ItemsRange getItemsRange(int currentItem, int visibleItems, int scrollingOffset,
+                                    boolean cyclic, int itemCount) {
+        return getItemsRange(currentItem, visibleItems, scrollingOffset, cyclic, itemCount, new ItemsRange());
+    }
+
+    /**
+     * Calculates range of items to be shown, storing it in the given range
+     *
+     * @param currentItem the current item index
+     * @param visibleItems the count of visible items
+     * @param scrollingOffset the scrolling offset
+     * @param cyclic true if spinnerwheel is cyclic
+     * @param itemCount the count of items
+     * @param range the range to store the result in
+     * @return the given range
+     */
+    static ItemsRange getItemsRange(int currentItem, int visibleItems, int scrollingOffset,
+                                    boolean cyclic, int itemCount, ItemsRange range) {
+        int start = currentItem - visibleItems / 2;
+        int end = start + visibleItems - (visibleItems % 2 == 0 ? 0 : 1);
+        if (scrollingOffset != 0) {
+            if (scrollingOffset > 0) {
+                start--;
+            } else {
+                end++;
+            }
+        }
+        if (!cyclic) {
+            if (start < 0) start = 0;
+            if (end > itemCount) end = itemCount;
+        }
+        range.set(start, end - start + 1);
+        return range;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+/**
+ * Metrics of spinnerwheel rendering and item views recycling.
+ * <p>Set with {@link AbstractWheel#setMetrics(WheelMetrics)} to collect frame draw and
+ * items rebuilding durations, recycler hits and misses and adapter binds, for example to
+ * ship them to telemetry. No metrics are set by default, and spinnerwheels do no timing or
+ * counting then. All methods are called on the UI thread and do nothing by default,
+ * so only the needed ones should be overridden. Implementations should be cheap,
+ * since they are called while drawing.
+ */
+public abstract class WheelMetrics {
+
+    /**
+     * Called when spinnerwheel has been drawn
+     *
+     * @param wheel the spinnerwheel view
+     * @param durationNanos the time spent in drawing, in nanoseconds
+     * @param scrollMessages the count of scroll animation messages processed since previous frame
+     */
+    public void onFrameDrawn(AbstractWheel wheel, long durationNanos, int scrollMessages) {
+    }
+
+    /**
+     * Called when items layout has been rebuilt
+     *
+     * @param wheel the spinnerwheel view
+     * @param durationNanos the time spent in {@link AbstractWheel#rebuildItems()}, in nanoseconds,
+     *                      including adapter binds
+     */
+    public void onItemsRebuilt(AbstractWheel wheel, long durationNanos) {
+    }
+
+    /**
+     * Called when item view has been taken from recycler
+     *
+     * @param wheel the spinnerwheel view
+     * @param bound true if the view is still bound to the item and is shown with no adapter bind
+     */
+    public void onRecyclerHit(AbstractWheel wheel, boolean bound) {
+    }
+
+    /**
+     * Called when recycler had no view for an item, so adapter has to create one
+     *
+     * @param wheel the spinnerwheel view
+     */
+    public void onRecyclerMiss(AbstractWheel wheel) {
+    }
+
+    /**
+     * Called when item view has been bound by adapter
+     *
+     * @param wheel the spinnerwheel view
+     * @param index the item index, or -1 for empty item
+     * @param inflated true if adapter created a new view instead of reusing the recycled one
+     */
+    public void onItemBound(AbstractWheel wheel, int index, boolean inflated) {
+    }
+}
@@ -24,26 +24,57 @@
 
 package antistatic.spinnerwheel;
 
-import java.util.LinkedList;
-import java.util.List;
-
+import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.widget.LinearLayout;
+import antistatic.spinnerwheel.adapters.WheelViewAdapter;
 
 /**
  * Recycle stored spinnerwheel items to reuse.
+ * Cached views are kept in bounded pools, one pool per item view type.
+ * Views of recently visible items are kept bound in a small index cache first,
+ * so items scrolling back into range are reused without rebinding.
  */
-public class WheelRecycler {
+public class WheelRecycler extends AbstractItemsRecycler<LinearLayout, View> {
 
 
     @SuppressWarnings("unused")
     private static final String LOG_TAG = WheelRecycler.class.getName();
 
-    // Cached items
-    private List<View> items;
+    /** The default maximum count of cached views per view type */
+    public static final int DEF_MAX_POOL_SIZE = 16;
+
+    /** The default count of bound views kept by item index */
+    public static final int DEF_INDEX_CACHE_SIZE = 4;
+
+    /** The view type used for item views */
+    public static final int ITEM_VIEW_TYPE_DEFAULT = 0;
+
+    // Cached items, keyed by view type
+    private SparseArray<ItemPool<View>> items = new SparseArray<ItemPool<View>>();
 
     // Cached empty items
-    private List<View> emptyItems;
+    private ItemPool<View> emptyItems;
+
+    // Maximum counts of cached views, keyed by view type
+    private SparseIntArray maxPoolSizes = new SparseIntArray();
+
+    // Maximum count of cached views for types with no specific limit
+    private int defaultMaxPoolSize = DEF_MAX_POOL_SIZE;
+
+    // Bound views of recently visible items, ring buffer ordered by recycling time
+    private View[] indexCacheViews = new View[DEF_INDEX_CACHE_SIZE];
+    private int[] indexCacheIndices = new int[DEF_INDEX_CACHE_SIZE];
+    private int[] indexCacheTypes = new int[DEF_INDEX_CACHE_SIZE];
+    private int indexCacheHead;
+    private int indexCacheSize;
+
+    // Statistics
+    private int indexHitCount;
+    private int hitCount;
+    private int missCount;
+    private int evictionCount;
 
     // Wheel view
     private AbstractWheel wheel;
@@ -56,39 +87,63 @@ public class WheelRecycler {
         this.wheel = wheel;
     }
 
+    @Override
+    int getItemsCount(LinearLayout layout) {
+        return layout.getChildCount();
+    }
+
+    @Override
+    View getItemAt(LinearLayout layout, int position) {
+        return layout.getChildAt(position);
+    }
+
+    @Override
+    void removeItemAt(LinearLayout layout, int position) {
+        layout.removeViewAt(position);
+    }
+
     /**
-     * Recycles items from specified layout.
-     * There are saved only items not included to specified range.
-     * All the cached items are removed from original layout.
+     * Gets view still bound to the item with specified index.
+     * Such view can be shown as is, without passing it to the adapter.
      *
-     * @param layout the layout containing items to be cached
-     * @param firstItem the number of first item in layout
-     * @param range the range of current spinnerwheel items
-     * @return the new value of first item number
-     */
-    public int recycleItems(LinearLayout layout, int firstItem, ItemsRange range) {
-        int index = firstItem;
-        for (int i = 0; i < layout.getChildCount();) {
-            if (!range.contains(index)) {
-                recycleView(layout.getChildAt(i), index);
-                layout.removeViewAt(i);
-                if (i == 0) { // first item
-                    firstItem++;
+     * @param index the normalized item index
+     * @param isCurrent true if item is the current one
+     * @return the bound view or null if there is no one
+     */
+    public View getBoundItem(int index, boolean isCurrent) {
+        for (int i = 0; i < indexCacheSize; i++) {
+            int pos = (indexCacheHead + i) % indexCacheViews.length;
+            if (indexCacheIndices[pos] == index) {
+                View view = indexCacheViews[pos];
+                int viewType = indexCacheTypes[pos];
+                removeFromIndexCache(i);
+                if (isBoundAsCurrent(view) == isCurrent) {
+                    indexHitCount++;
+                    return view;
                 }
-            } else {
-                i++; // go to next item
+                // view state depends on being current, it has to be rebound
+                addView(view, getPool(viewType));
+                return null;
             }
-            index++;
         }
-        return firstItem;
+        return null;
     }
 
     /**
-     * Gets item view
+     * Gets item view of default type
      * @return the cached view
      */
     public View getItem() {
-        return getCachedView(items);
+        return getItem(ITEM_VIEW_TYPE_DEFAULT);
+    }
+
+    /**
+     * Gets item view of specified type
+     * @param viewType the item view type
+     * @return the cached view
+     */
+    public View getItem(int viewType) {
+        return getCachedView(items.get(viewType));
     }
 
     /**
@@ -99,12 +154,63 @@ public class WheelRecycler {
         return getCachedView(emptyItems);
     }
 
+    /**
+     * Moves views from index cache to pools, so they will be rebound on reuse.
+     * Should be called when bound views become outdated.
+     */
+    public void flushIndexCache() {
+        while (indexCacheSize > 0) {
+            View view = indexCacheViews[indexCacheHead];
+            int viewType = indexCacheTypes[indexCacheHead];
+            removeFromIndexCache(0);
+            addView(view, getPool(viewType));
+        }
+    }
+
+    /**
+     * Moves views of items within specified range from index cache to pools,
+     * so they will be rebound on reuse.
+     * @param start the index of the first outdated item
+     * @param count the count of outdated items
+     */
+    public void invalidateIndexRange(int start, int count) {
+        for (int i = 0; i < indexCacheSize;) {
+            int pos = (indexCacheHead + i) % indexCacheViews.length;
+            int index = indexCacheIndices[pos];
+            if (index >= start && index < start + count) {
+                View view = indexCacheViews[pos];
+                int viewType = indexCacheTypes[pos];
+                removeFromIndexCache(i);
+                addView(view, getPool(viewType));
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Sets count of bound views kept by item index. Zero disables the index cache.
+     * @param size the index cache size
+     */
+    public void setIndexCacheSize(int size) {
+        flushIndexCache();
+        size = Math.max(size, 0);
+        indexCacheViews = new View[size];
+        indexCacheIndices = new int[size];
+        indexCacheTypes = new int[size];
+        indexCacheHead = 0;
+        indexCacheSize = 0;
+    }
+
     /**
      * Clears all views
      */
     public void clearAll() {
-        if (items != null) {
-            items.clear();
+        while (indexCacheSize > 0) {
+            removeFromIndexCache(0);
+        }
+        for (int i = 0; i < items.size(); i++) {
+            items.valueAt(i).clear();
         }
         if (emptyItems != null) {
             emptyItems.clear();
@@ -112,52 +218,214 @@ public class WheelRecycler {
     }
 
     /**
-     * Adds view to specified cache. Creates a cache list if it is null.
-     * @param view the view to be cached
-     * @param cache the cache list
-     * @return the cache list
+     * Sets maximum count of cached views for types with no specific limit set
+     * @param maxPoolSize the maximum count of cached views per type
      */
-    private List<View> addView(View view, List<View> cache) {
-        if (cache == null) {
-            cache = new LinkedList<View>();
+    public void setDefaultMaxPoolSize(int maxPoolSize) {
+        defaultMaxPoolSize = maxPoolSize;
+        for (int i = 0; i < items.size(); i++) {
+            if (maxPoolSizes.indexOfKey(items.keyAt(i)) < 0) {
+                items.valueAt(i).setCapacity(maxPoolSize);
+            }
+        }
+        if (emptyItems != null) {
+            emptyItems.setCapacity(maxPoolSize);
         }
+    }
+
+    /**
+     * Sets maximum count of cached views of specified type
+     * @param viewType the item view type
+     * @param maxPoolSize the maximum count of cached views
+     */
+    public void setMaxPoolSize(int viewType, int maxPoolSize) {
+        maxPoolSizes.put(viewType, maxPoolSize);
+        ItemPool<View> pool = items.get(viewType);
+        if (pool != null) {
+            pool.setCapacity(maxPoolSize);
+        }
+    }
+
+    /**
+     * Gets count of views served from index cache, with no rebinding needed
+     * @return the index cache hit count
+     */
+    public int getIndexHitCount() {
+        return indexHitCount;
+    }
 
-        cache.add(view);
-        return cache;
+    /**
+     * Gets count of view requests served from cache
+     * @return the hit count
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets count of view requests cache was unable to serve
+     * @return the miss count
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets count of views dropped because their pool was full
+     * @return the eviction count
+     */
+    public int getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Resets hit, miss and eviction counters
+     */
+    public void resetCounters() {
+        indexHitCount = 0;
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
     }
 
     /**
-     * Adds view to cache. Determines view type (item view or empty one) by index.
+     * Adds view to cache. Determines view type by the type view has been bound with,
+     * so views bound before adapter changes still go to the pool they belong to.
+     * Views with no type are empty ones.
      * @param view the view to be cached
      * @param index the index of view
      */
-    private void recycleView(View view, int index) {
-        int count = wheel.getViewAdapter().getItemsCount();
-
-        if ((index < 0 || index >= count) && !wheel.isCyclic()) {
+    @Override
+    void recycleItem(View view, int index) {
+        Object tag = view.getTag(R.id.wheel_item_view_type);
+        if (!(tag instanceof Integer)) {
             // empty view
-            emptyItems = addView(view, emptyItems);
-        } else {
-            while (index < 0) {
-                index = count + index;
+            if (emptyItems == null) {
+                emptyItems = new ItemPool<View>(defaultMaxPoolSize);
+            }
+            addView(view, emptyItems);
+            return;
+        }
+
+        int viewType = (Integer) tag;
+        WheelViewAdapter adapter = wheel.getViewAdapter();
+        if (adapter == null || viewType >= adapter.getViewTypeCount()) {
+            // adapter has no such view type anymore
+            evictionCount++;
+            return;
+        }
+
+        int count = adapter.getItemsCount();
+        if (count > 0 && (wheel.isCyclic() || (index >= 0 && index < count))) {
+            index = WheelMath.normalizeIndex(index, count);
+            if (adapter.getItemViewType(index) == viewType && addToIndexCache(view, index, viewType)) {
+                return;
             }
-            index %= count;
-            items = addView(view, items);
+        }
+        addView(view, getPool(viewType));
+    }
+
+    /**
+     * Adds bound view to index cache. Pushes out the view already cached for the same index
+     * or the least recently cached one to its pool.
+     * @param view the view to be cached
+     * @param index the normalized item index
+     * @param viewType the item view type
+     * @return false if index cache is disabled
+     */
+    private boolean addToIndexCache(View view, int index, int viewType) {
+        int capacity = indexCacheViews.length;
+        if (capacity == 0) {
+            return false;
+        }
+        for (int i = 0; i < indexCacheSize; i++) {
+            int pos = (indexCacheHead + i) % capacity;
+            if (indexCacheIndices[pos] == index) {
+                View outdated = indexCacheViews[pos];
+                int outdatedType = indexCacheTypes[pos];
+                removeFromIndexCache(i);
+                addView(outdated, getPool(outdatedType));
+                break;
+            }
+        }
+        if (indexCacheSize == capacity) {
+            View oldest = indexCacheViews[indexCacheHead];
+            int oldestType = indexCacheTypes[indexCacheHead];
+            removeFromIndexCache(0);
+            addView(oldest, getPool(oldestType));
+        }
+        int pos = (indexCacheHead + indexCacheSize) % capacity;
+        indexCacheViews[pos] = view;
+        indexCacheIndices[pos] = index;
+        indexCacheTypes[pos] = viewType;
+        indexCacheSize++;
+        return true;
+    }
+
+    /**
+     * Removes entry from index cache, keeping order of the rest entries
+     * @param offset the entry offset from the oldest one
+     */
+    private void removeFromIndexCache(int offset) {
+        int capacity = indexCacheViews.length;
+        for (int i = offset; i < indexCacheSize - 1; i++) {
+            int to = (indexCacheHead + i) % capacity;
+            int from = (to + 1) % capacity;
+            indexCacheViews[to] = indexCacheViews[from];
+            indexCacheIndices[to] = indexCacheIndices[from];
+            indexCacheTypes[to] = indexCacheTypes[from];
+        }
+        indexCacheSize--;
+        indexCacheViews[(indexCacheHead + indexCacheSize) % capacity] = null;
+    }
+
+    /**
+     * Checks whether view was bound while its item was the current one
+     * @param view the item view
+     * @return true if item was the current one
+     */
+    private static boolean isBoundAsCurrent(View view) {
+        return Boolean.TRUE.equals(view.getTag(R.id.wheel_item_bound_as_current));
+    }
+
+    /**
+     * Gets pool for specified view type. Creates the pool if it doesn't exist.
+     * @param viewType the item view type
+     * @return the pool
+     */
+    private ItemPool<View> getPool(int viewType) {
+        ItemPool<View> pool = items.get(viewType);
+        if (pool == null) {
+            pool = new ItemPool<View>(maxPoolSizes.get(viewType, defaultMaxPoolSize));
+            items.put(viewType, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Adds view to specified cache.
+     * @param view the view to be cached
+     * @param cache the cache
+     */
+    private void addView(View view, ItemPool<View> cache) {
+        if (!cache.offer(view)) {
+            evictionCount++;
         }
     }
 
     /**
      * Gets view from specified cache.
      * @param cache the cache
-     * @return the first view from cache.
+     * @return the oldest view from cache.
      */
-    private View getCachedView(List<View> cache) {
-        if (cache != null && cache.size() > 0) {
-            View view = cache.get(0);
-            cache.remove(0);
-            return view;
+    private View getCachedView(ItemPool<View> cache) {
+        View view = cache != null ? cache.poll() : null;
+        if (view != null) {
+            hitCount++;
+        } else {
+            missCount++;
         }
-        return null;
+        return view;
     }
 
 }
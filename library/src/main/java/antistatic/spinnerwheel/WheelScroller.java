@@ -24,14 +24,18 @@
 
 package antistatic.spinnerwheel;
 
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.os.Build;
 import android.os.Handler;
 import android.os.Message;
+import android.view.Choreographer;
 import android.view.GestureDetector;
 import android.view.GestureDetector.SimpleOnGestureListener;
 import android.view.MotionEvent;
+import android.view.animation.DecelerateInterpolator;
 import android.view.animation.Interpolator;
+import android.widget.OverScroller;
 import android.widget.Scroller;
 
 /**
@@ -77,9 +81,86 @@ public abstract class WheelScroller {
         void onJustify();
     }
 
+    /**
+     * Adjusts fling distance, used to make fling end exactly at item boundary
+     */
+    public interface FlingSnapper {
+        /**
+         * Snaps fling distance
+         * @param distance the distance fling would pass with no snapping
+         * @return the distance fling should pass
+         */
+        int snapFlingDistance(int distance);
+    }
+
+    /**
+     * Deceleration curve of snapped fling
+     */
+    public interface FlingDeceleration {
+        /**
+         * Gets interpolator which defines fling deceleration
+         * @return the interpolator
+         */
+        Interpolator getInterpolator();
+
+        /**
+         * Gets duration of fling
+         * @param distance the snapped fling distance
+         * @param velocity the initial fling velocity, in pixels per second
+         * @return the fling duration in milliseconds
+         */
+        int getDuration(int distance, int velocity);
+    }
+
+    /**
+     * Default deceleration curve of snapped fling. Duration is chosen to start
+     * snapped fling with the velocity of the gesture.
+     */
+    public static class DefaultFlingDeceleration implements FlingDeceleration {
+        /** Default deceleration factor */
+        public static final float DEF_FACTOR = 1.5f;
+
+        private final float factor;
+        private final Interpolator interpolator;
+
+        /**
+         * Constructor
+         */
+        public DefaultFlingDeceleration() {
+            this(DEF_FACTOR);
+        }
+
+        /**
+         * Constructor
+         * @param factor the deceleration factor, see {@link DecelerateInterpolator}
+         */
+        public DefaultFlingDeceleration(float factor) {
+            this.factor = factor;
+            interpolator = new DecelerateInterpolator(factor);
+        }
+
+        @Override
+        public Interpolator getInterpolator() {
+            return interpolator;
+        }
+
+        @Override
+        public int getDuration(int distance, int velocity) {
+            if (velocity == 0) {
+                return SCROLLING_DURATION;
+            }
+            // initial slope of DecelerateInterpolator is 2 * factor
+            long duration = (long) (2 * factor * Math.abs(distance) * 1000L / Math.abs(velocity));
+            return (int) Math.max(1, Math.min(duration, MAX_FLING_DURATION));
+        }
+    }
+
     /** Scrolling duration */
     private static final int SCROLLING_DURATION = 400;
 
+    /** Maximum duration of snapped fling */
+    private static final int MAX_FLING_DURATION = 5000;
+
     /** Minimum delta for scrolling */
     public static final int MIN_DELTA_FOR_SCROLLING = 1;
 
@@ -95,9 +176,29 @@ public abstract class WheelScroller {
     private   int             lastScrollPosition;
     private   float           lastTouchedPosition;
     private   boolean         isScrollingPerformed;
+    private   Scroller        defaultScroller;
+
+    // Snapped fling
+    private FlingSnapper      flingSnapper;
+    private FlingDeceleration flingDeceleration;
+    private OverScroller      flingEstimator;
+    private Scroller          flingScroller;
+    // Count of animation messages processed since it was taken last time
+    private int               scrollMessagesCount;
     public static final int SCROLL_DIRECTION_UP   = 1;
     public static final int SCROLL_DIRECTION_DOWN = -1;
 
+    /** Scroller is not scrolling */
+    public static final int PHASE_IDLE       = 0;
+    /** Spinnerwheel is dragged by touch */
+    public static final int PHASE_DRAGGING   = 1;
+    /** Fling or animated scrolling is performed */
+    public static final int PHASE_FLINGING   = 2;
+    /** Justifying animation is performed */
+    public static final int PHASE_JUSTIFYING = 3;
+
+    private int scrollingPhase = PHASE_IDLE;
+
     /**
      * Constructor
      * @param context the current context
@@ -114,7 +215,12 @@ public abstract class WheelScroller {
 
             public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
                 lastScrollPosition = 0;
-                scrollerFling(lastScrollPosition, (int) velocityX, (int) velocityY);
+                if (flingSnapper != null) {
+                    snappedFling(getScrollerVelocity((int) velocityX, (int) velocityY));
+                } else {
+                    useScroller(defaultScroller);
+                    scrollerFling(lastScrollPosition, (int) velocityX, (int) velocityY);
+                }
                 setNextMessage(MESSAGE_SCROLL);
                 WheelScroller.this.listener.onFling(
                   velocityY < 0 ? SCROLL_DIRECTION_UP : SCROLL_DIRECTION_DOWN);
@@ -125,7 +231,13 @@ public abstract class WheelScroller {
         });
         gestureDetector.setIsLongpressEnabled(false);
 
-        scroller = new Scroller(context);
+        defaultScroller = new Scroller(context);
+        scroller = defaultScroller;
+        flingEstimator = new OverScroller(context);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            frameCallback = new AnimationFrameCallback();
+        }
 
         this.listener = listener;
         this.context = context;
@@ -137,7 +249,57 @@ public abstract class WheelScroller {
      */
     public void setInterpolator(Interpolator interpolator) {
         scroller.forceFinished(true);
-        scroller = new Scroller(context, interpolator);
+        defaultScroller = new Scroller(context, interpolator);
+        scroller = defaultScroller;
+    }
+
+    /**
+     * Enables snapped fling. Fling end position is computed with {@link OverScroller} physics
+     * at fling start, adjusted by snapper and then reached with the deceleration curve,
+     * so fling needs no separate justifying animation.
+     *
+     * @param snapper the fling distance snapper, null to disable snapped fling
+     * @param deceleration the deceleration curve, null for {@link DefaultFlingDeceleration}
+     */
+    public void setFlingSnapping(FlingSnapper snapper, FlingDeceleration deceleration) {
+        flingSnapper = snapper;
+        if (snapper == null) {
+            flingDeceleration = null;
+            flingScroller = null;
+            return;
+        }
+        if (deceleration == null) {
+            deceleration = new DefaultFlingDeceleration();
+        }
+        if (flingDeceleration != deceleration) {
+            flingDeceleration = deceleration;
+            flingScroller = new Scroller(context, deceleration.getInterpolator());
+        }
+    }
+
+    /**
+     * Switches scroller used for animation
+     * @param newScroller the scroller to use
+     */
+    private void useScroller(Scroller newScroller) {
+        if (scroller != newScroller) {
+            scroller.forceFinished(true);
+            scroller = newScroller;
+        }
+    }
+
+    /**
+     * Starts fling which ends at snapped position
+     * @param velocity the fling velocity along scrolling axis
+     */
+    private void snappedFling(int velocity) {
+        final int maxPosition = 0x7FFFFFFF;
+        flingEstimator.fling(0, 0, 0, velocity, 0, 0, -maxPosition, maxPosition);
+        int distance = flingSnapper.snapFlingDistance(flingEstimator.getFinalY());
+        flingEstimator.forceFinished(true);
+
+        useScroller(flingScroller);
+        scrollerStartScroll(distance, flingDeceleration.getDuration(distance, velocity));
     }
 
     /**
@@ -147,12 +309,43 @@ public abstract class WheelScroller {
      */
     public void scroll(int distance, int time) {
         scroller.forceFinished(true);
+        useScroller(defaultScroller);
         lastScrollPosition = 0;
         scrollerStartScroll(distance, time != 0 ? time : SCROLLING_DURATION);
         setNextMessage(MESSAGE_SCROLL);
         startScrolling();
     }
 
+    /**
+     * Gets distance scroller is going to pass until current scrolling or fling is finished
+     * @return the remaining distance, 0 if scroller is finished
+     */
+    public int getRemainingScrollDistance() {
+        return scroller.isFinished() ? 0 : getFinalScrollerPosition() - lastScrollPosition;
+    }
+
+    /**
+     * Gets count of scroll animation messages processed since the previous call
+     * and resets it. Where {@link Choreographer} is available, there is at most
+     * one message per frame.
+     *
+     * @return the count of processed messages
+     */
+    public int takeScrollMessagesCount() {
+        int count = scrollMessagesCount;
+        scrollMessagesCount = 0;
+        return count;
+    }
+
+    /**
+     * Gets current scrolling phase
+     * @return one of {@link #PHASE_IDLE}, {@link #PHASE_DRAGGING}, {@link #PHASE_FLINGING}
+     * and {@link #PHASE_JUSTIFYING}
+     */
+    public int getScrollingPhase() {
+        return scrollingPhase;
+    }
+
     /**
      * Stops scrolling
      */
@@ -166,7 +359,8 @@ public abstract class WheelScroller {
      */
     public void setFriction(float friction) {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
-            scroller.setFriction(friction);
+            defaultScroller.setFriction(friction);
+            flingEstimator.setFriction(friction);
         }
     }
 
@@ -194,6 +388,7 @@ public abstract class WheelScroller {
                 // perform scrolling
                 int distance = (int) (getMotionEventPosition(event) - lastTouchedPosition);
                 if (distance != 0) {
+                    scrollingPhase = PHASE_DRAGGING;
                     startScrolling();
                     listener.onScroll(distance);
                     lastTouchedPosition = getMotionEventPosition(event);
@@ -210,6 +405,7 @@ public abstract class WheelScroller {
 
 
     // Messages
+    private final int MESSAGE_NONE    = -1;
     private final int MESSAGE_SCROLL  = 0;
     private final int MESSAGE_JUSTIFY = 1;
 
@@ -220,50 +416,127 @@ public abstract class WheelScroller {
      */
     private void setNextMessage(int message) {
         clearMessages();
-        animationHandler.sendEmptyMessage(message);
+        scrollingPhase = message == MESSAGE_SCROLL ? PHASE_FLINGING : PHASE_JUSTIFYING;
+        postAnimationStep(message);
     }
 
     /**
      * Clears messages from queue
      */
     private void clearMessages() {
+        if (frameCallback != null) {
+            frameCallback.cancel();
+        }
         animationHandler.removeMessages(MESSAGE_SCROLL);
         animationHandler.removeMessages(MESSAGE_JUSTIFY);
+        scrollingPhase = PHASE_IDLE;
     }
 
-    // animation handler
+    /**
+     * Schedules next animation step. Steps are synchronized with display frames where
+     * {@link Choreographer} is available, and run as fast as message queue allows otherwise.
+     *
+     * @param message the message to process at the next step
+     */
+    private void postAnimationStep(int message) {
+        if (frameCallback != null) {
+            frameCallback.post(message);
+        } else {
+            animationHandler.sendEmptyMessage(message);
+        }
+    }
+
+    /**
+     * Performs single animation step: computes scroller position and schedules the next step, if needed
+     *
+     * @param message the message being processed
+     */
+    private void doAnimationStep(int message) {
+        scrollMessagesCount++;
+        scroller.computeScrollOffset();
+        int currPosition = getCurrentScrollerPosition();
+        int delta = lastScrollPosition - currPosition;
+        lastScrollPosition = currPosition;
+        if (delta != 0) {
+            listener.onScroll(delta);
+        }
+
+        // scrolling is not finished when it comes to final Y
+        // so, finish it manually 
+        if (Math.abs(currPosition - getFinalScrollerPosition()) < MIN_DELTA_FOR_SCROLLING) {
+            // currPosition = getFinalScrollerPosition();
+            scroller.forceFinished(true);
+        }
+        if (!scroller.isFinished()) {
+            postAnimationStep(message);
+        } else if (message == MESSAGE_SCROLL) {
+            justify();
+        } else {
+            finishScrolling();
+        }
+    }
+
+    // animation handler, used where Choreographer is not available
     private Handler animationHandler = new Handler() {
         public void handleMessage(Message msg) {
-            scroller.computeScrollOffset();
-            int currPosition = getCurrentScrollerPosition();
-            int delta = lastScrollPosition - currPosition;
-            lastScrollPosition = currPosition;
-            if (delta != 0) {
-                listener.onScroll(delta);
+            doAnimationStep(msg.what);
+        }
+    };
+
+    // animation frame callback, null where Choreographer is not available
+    private AnimationFrameCallback frameCallback;
+
+    /**
+     * Runs animation steps once per display frame
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private class AnimationFrameCallback implements Choreographer.FrameCallback {
+        private final Choreographer choreographer = Choreographer.getInstance();
+        private int pendingMessage = MESSAGE_NONE;
+
+        /**
+         * Schedules the message to be processed at the next frame
+         *
+         * @param message the message to process
+         */
+        void post(int message) {
+            if (pendingMessage == MESSAGE_NONE) {
+                choreographer.postFrameCallback(this);
             }
+            pendingMessage = message;
+        }
 
-            // scrolling is not finished when it comes to final Y
-            // so, finish it manually 
-            if (Math.abs(currPosition - getFinalScrollerPosition()) < MIN_DELTA_FOR_SCROLLING) {
-                // currPosition = getFinalScrollerPosition();
-                scroller.forceFinished(true);
+        /**
+         * Cancels pending message, if any
+         */
+        void cancel() {
+            if (pendingMessage != MESSAGE_NONE) {
+                choreographer.removeFrameCallback(this);
+                pendingMessage = MESSAGE_NONE;
             }
-            if (!scroller.isFinished()) {
-                animationHandler.sendEmptyMessage(msg.what);
-            } else if (msg.what == MESSAGE_SCROLL) {
-                justify();
-            } else {
-                finishScrolling();
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            int message = pendingMessage;
+            pendingMessage = MESSAGE_NONE;
+            if (message != MESSAGE_NONE) {
+                doAnimationStep(message);
             }
         }
-    };
+    }
 
     /**
-     * Justifies spinnerwheel
+     * Justifies spinnerwheel. Finishes scrolling right away if listener starts no justifying scroll,
+     * as it is after snapped fling
      */
     private void justify() {
         listener.onJustify();
-        setNextMessage(MESSAGE_JUSTIFY);
+        if (scroller.isFinished()) {
+            finishScrolling();
+        } else {
+            setNextMessage(MESSAGE_JUSTIFY);
+        }
     }
 
     /**
@@ -280,6 +553,7 @@ public abstract class WheelScroller {
      * Finishes scrolling
      */
     protected void finishScrolling() {
+        scrollingPhase = PHASE_IDLE;
         if (isScrollingPerformed) {
             listener.onFinished();
             isScrollingPerformed = false;
@@ -295,4 +569,12 @@ public abstract class WheelScroller {
     protected abstract void scrollerStartScroll(int distance, int time);
 
     protected abstract void scrollerFling(int position, int velocityX, int velocityY);
+
+    /**
+     * Gets fling velocity along scrolling axis, in scroller coordinates
+     * @param velocityX the horizontal velocity of the gesture
+     * @param velocityY the vertical velocity of the gesture
+     * @return the velocity to fling scroller with
+     */
+    protected abstract int getScrollerVelocity(int velocityX, int velocityY);
 }
@@ -0,0 +1,152 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package antistatic.spinnerwheel;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.text.TextPaint;
+import antistatic.spinnerwheel.adapters.WheelTextAdapter;
+
+/**
+ * Draws text items of {@link WheelTextAdapter} directly on canvas,
+ * with no item views, measuring and layout passes involved.
+ */
+public class WheelTextRenderer {
+
+    // Count of items text kept in cache
+    private static final int TEXT_CACHE_SIZE = 16;
+
+    private final TextPaint mPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint mSelectedPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+    private boolean mConfigured;
+
+    // Line height and offset of the baseline from the line center
+    private int mLineHeight;
+    private float mBaselineOffset;
+
+    // Items text, ring buffer keyed by item index
+    private final int[] mTextIndices = new int[TEXT_CACHE_SIZE];
+    private final CharSequence[] mTexts = new CharSequence[TEXT_CACHE_SIZE];
+    private int mTextsHead;
+
+    /**
+     * Drops cached text and paints configuration
+     */
+    public void invalidate() {
+        mConfigured = false;
+        for (int i = 0; i < TEXT_CACHE_SIZE; i++) {
+            mTexts[i] = null;
+        }
+    }
+
+    /**
+     * Drops cached text of items in range
+     *
+     * @param start the index of the first changed item
+     * @param count the count of changed items
+     */
+    public void invalidateItems(int start, int count) {
+        for (int i = 0; i < TEXT_CACHE_SIZE; i++) {
+            if (mTextIndices[i] >= start && mTextIndices[i] < start + count) {
+                mTexts[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Gets height of text line
+     *
+     * @param adapter the adapter
+     * @return the line height
+     */
+    public int getLineHeight(WheelTextAdapter adapter) {
+        configure(adapter);
+        return mLineHeight;
+    }
+
+    /**
+     * Measures width of item text
+     *
+     * @param adapter the adapter
+     * @param index the normalized item index
+     * @return the text width
+     */
+    public int measureTextWidth(WheelTextAdapter adapter, int index) {
+        configure(adapter);
+        CharSequence text = getText(adapter, index);
+        float width = Math.max(mPaint.measureText(text, 0, text.length()),
+                mSelectedPaint.measureText(text, 0, text.length()));
+        return (int) Math.ceil(width);
+    }
+
+    /**
+     * Draws item text centered at specified point
+     *
+     * @param canvas the canvas for drawing
+     * @param adapter the adapter
+     * @param index the normalized item index
+     * @param isSelectedItem true if item is the current one
+     * @param centerX x coordinate of the item center
+     * @param centerY y coordinate of the item center
+     */
+    public void drawItem(Canvas canvas, WheelTextAdapter adapter, int index, boolean isSelectedItem,
+                         float centerX, float centerY) {
+        configure(adapter);
+        CharSequence text = getText(adapter, index);
+        canvas.drawText(text, 0, text.length(), centerX, centerY + mBaselineOffset,
+                isSelectedItem ? mSelectedPaint : mPaint);
+    }
+
+    private void configure(WheelTextAdapter adapter) {
+        if (mConfigured) {
+            return;
+        }
+        adapter.configureTextPaint(mPaint, false);
+        adapter.configureTextPaint(mSelectedPaint, true);
+        mPaint.setTextAlign(Paint.Align.CENTER);
+        mSelectedPaint.setTextAlign(Paint.Align.CENTER);
+
+        mPaint.getFontMetrics(mFontMetrics);
+        mLineHeight = mPaint.getFontMetricsInt(null);
+        mBaselineOffset = -(mFontMetrics.ascent + mFontMetrics.descent) / 2;
+        mConfigured = true;
+    }
+
+    private CharSequence getText(WheelTextAdapter adapter, int index) {
+        for (int i = 0; i < TEXT_CACHE_SIZE; i++) {
+            if (mTexts[i] != null && mTextIndices[i] == index) {
+                return mTexts[i];
+            }
+        }
+        CharSequence text = adapter.getItemTextForDrawing(index);
+        if (text == null) {
+            text = "";
+        }
+        mTextIndices[mTextsHead] = index;
+        mTexts[mTextsHead] = text;
+        mTextsHead = (mTextsHead + 1) % TEXT_CACHE_SIZE;
+        return text;
+    }
+}
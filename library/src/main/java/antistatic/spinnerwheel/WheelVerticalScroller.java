@@ -68,4 +68,9 @@ public class WheelVerticalScroller extends WheelScroller {
         final int minPosition = -maxPosition;
         scroller.fling(0, position, 0, -velocityY, 0, 0, minPosition, maxPosition);
     }
+
+    @Override
+    protected int getScrollerVelocity(int velocityX, int velocityY) {
+        return -velocityY;
+    }
 }
@@ -29,8 +29,10 @@ import android.content.res.TypedArray;
 import android.graphics.*;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
+import android.view.View;
 import android.view.ViewGroup.LayoutParams;
 import android.widget.LinearLayout;
+import antistatic.spinnerwheel.adapters.WheelTextAdapter;
 
 /**
  * Spinner wheel vertical view.
@@ -52,6 +54,8 @@ public class WheelVerticalView extends AbstractWheelView {
 
     // Cached item height
     private int mItemHeight = 0;
+    // Range of text items being drawn, reused from frame to frame
+    private final ItemsRange mTextItemsRange = new ItemsRange();
     public Canvas mC;
     public Canvas mCSpin;
     public Canvas mCSeparators;
@@ -110,13 +114,17 @@ public class WheelVerticalView extends AbstractWheelView {
 
     @Override protected void recreateAssets(int width, int height) {
         super.recreateAssets(width, height);
-        mC = new Canvas(mSpinBitmap);
-        mCSpin = new Canvas(mSpinBitmap);
-        mCSeparators = new Canvas(mSeparatorsBitmap);
+        if (mSpinBitmap != null) {
+            mC = new Canvas(mSpinBitmap);
+            mCSpin = new Canvas(mSpinBitmap);
+            mCSeparators = new Canvas(mSeparatorsBitmap);
+        } else {
+            mC = mCSpin = mCSeparators = null;
+        }
     }
 
     @Override
-    public void setSelectorPaintCoeff(float coeff) {
+    protected Shader createSelectorShader(float coeff) {
         LinearGradient shader;
 
         int h = getMeasuredHeight();
@@ -148,8 +156,7 @@ public class WheelVerticalView extends AbstractWheelView {
             float[] positions = {0, p3, p3, p1,     p1,         p2,     p2, p4, p4, 1};
             shader = new LinearGradient(0, 0, 0, h, colors, positions, Shader.TileMode.CLAMP);
         }
-        mSelectorWheelPaint.setShader(shader);
-        invalidate();
+        return shader;
     }
 
 
@@ -180,12 +187,46 @@ public class WheelVerticalView extends AbstractWheelView {
         return getHeight();
     }
 
+    /**
+     * Checks whether items may be placed by offset, i.e. fixed item size mode is on
+     * and the prototype item has been measured already
+     *
+     * @return true if items layout measure pass is not needed
+     */
+    private boolean isFixedItemsLayout() {
+        return mFixedItemSize && mItemHeight != 0;
+    }
+
+    /**
+     * Places item views one under another, measuring only those which are new or requested layout
+     */
+    private void layoutFixedSizeItems() {
+        int w = getMeasuredWidth() - 2 * mItemsPadding;
+        int ih = mItemHeight;
+        int top = 0;
+        for (int i = 0, cnt = mItemsLayout.getChildCount(); i < cnt; i++, top += ih) {
+            View child = mItemsLayout.getChildAt(i);
+            if (child.isLayoutRequested() || child.getMeasuredWidth() != w || child.getMeasuredHeight() != ih) {
+                child.measure(MeasureSpec.makeMeasureSpec(w, MeasureSpec.EXACTLY),
+                        MeasureSpec.makeMeasureSpec(ih, MeasureSpec.EXACTLY));
+            }
+            if (child.isLayoutRequested() || child.getTop() != top
+                    || child.getWidth() != w || child.getHeight() != ih) {
+                child.layout(0, top, w, top + ih);
+            }
+        }
+    }
+
     /**
      * Returns height of the spinnerwheel
      * @return the item height
      */
     @Override
     protected int getItemDimension() {
+        if (isDirectTextRendering()) {
+            return mTextRenderer.getLineHeight((WheelTextAdapter) mViewAdapter);
+        }
+
         if (mItemHeight != 0) {
             return mItemHeight;
         }
@@ -217,12 +258,21 @@ public class WheelVerticalView extends AbstractWheelView {
 
     @Override
     protected void doItemsLayout() {
-        mItemsLayout.layout(0, 0, getMeasuredWidth() - 2 * mItemsPadding, getMeasuredHeight());
+        if (mItemsLayout != null) {
+            mItemsLayout.layout(0, 0, getMeasuredWidth() - 2 * mItemsPadding, getMeasuredHeight());
+            if (isFixedItemsLayout()) {
+                layoutFixedSizeItems();
+            }
+        }
     }
 
 
     @Override
     protected void measureLayout() {
+        if (isFixedItemsLayout()) {
+            // items are measured one by one in layoutFixedSizeItems()
+            return;
+        }
         mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
 
         mItemsLayout.measure(
@@ -241,7 +291,10 @@ public class WheelVerticalView extends AbstractWheelView {
         int widthSize = MeasureSpec.getSize(widthMeasureSpec);
         int heightSize = MeasureSpec.getSize(heightMeasureSpec);
 
-        rebuildItems(); // rebuilding before measuring
+        beginFrameSection(WheelFrameReport.SECTION_MEASURE);
+        if (!isDirectTextRendering()) {
+            rebuildItems(); // rebuilding before measuring
+        }
 
         int width = calculateLayoutWidth(widthSize, widthMode);
 
@@ -258,6 +311,7 @@ public class WheelVerticalView extends AbstractWheelView {
                 height = Math.min(height, heightSize);
             }
         }
+        endFrameSection();
         setMeasuredDimension(width, height);
     }
 
@@ -268,12 +322,18 @@ public class WheelVerticalView extends AbstractWheelView {
      * @return the calculated control width
      */
     private int calculateLayoutWidth(int widthSize, int mode) {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
-        );
-        int width = mItemsLayout.getMeasuredWidth();
+        boolean isDirectTextRendering = isDirectTextRendering();
+        int width;
+        if (isDirectTextRendering) {
+            width = measureTextItemsWidth();
+        } else {
+            mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
+            mItemsLayout.measure(
+                    MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED),
+                    MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
+            );
+            width = mItemsLayout.getMeasuredWidth();
+        }
 
         if (mode == MeasureSpec.EXACTLY) {
             width = widthSize;
@@ -288,15 +348,35 @@ public class WheelVerticalView extends AbstractWheelView {
             }
         }
 
-        // forcing recalculating
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(width - 2 * mItemsPadding, MeasureSpec.EXACTLY),
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
-        );
+        if (!isDirectTextRendering) {
+            // forcing recalculating
+            mItemsLayout.measure(
+                    MeasureSpec.makeMeasureSpec(width - 2 * mItemsPadding, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
+            );
+        }
 
         return width;
     }
 
+    /**
+     * Measures the widest text among visible items
+     * @return the text width
+     */
+    private int measureTextItemsWidth() {
+        WheelTextAdapter adapter = (WheelTextAdapter) mViewAdapter;
+        ItemsRange range = getItemsRange();
+        int count = mViewAdapter.getItemsCount();
+        int width = 0;
+        for (int i = range.getFirst(); i <= range.getLast(); i++) {
+            if (isValidItemIndex(i)) {
+                int index = ((i % count) + count) % count;
+                width = Math.max(width, mTextRenderer.measureTextWidth(adapter, index));
+            }
+        }
+        return width;
+    }
+
 
     //--------------------------------------------------------------------------
     //
@@ -305,45 +385,78 @@ public class WheelVerticalView extends AbstractWheelView {
     //--------------------------------------------------------------------------
 
     @Override
-    protected void drawItems(Canvas canvas) {
+    protected void drawItemsWithBitmaps(Canvas canvas) {
         canvas.save();
         int w = getMeasuredWidth();
         int h = getMeasuredHeight();
-        int ih = getItemDimension();
 
         // resetting intermediate bitmap and recreating canvases
         mSpinBitmap.eraseColor(0);
-        mC.save();
         mCSpin.save();
 
-        int top = (mCurrentItemIdx - mFirstItemIdx) * ih + (ih - getHeight()) / 2;
-        mC.translate(mItemsPadding, - top + mScrollingOffset);
-        mItemsLayout.draw(mC);
+        drawItemsLayout(mC);
 
         mSeparatorsBitmap.eraseColor(0);
+        drawSelectionDividers(mCSeparators);
+
+        mCSpin.drawRect(0, 0, w, h, mSelectorWheelPaint);
+        mCSeparators.drawRect(0, 0, w, h, mSeparatorsPaint);
+
+        canvas.drawBitmap(mSpinBitmap, 0, 0, null);
+        canvas.drawBitmap(mSeparatorsBitmap, 0, 0, null);
+        canvas.restore();
+        mCSpin.restore();
+    }
+
+    @Override
+    protected void drawItemsLayout(Canvas canvas) {
+        if (isDirectTextRendering()) {
+            drawTextItems(canvas);
+            return;
+        }
+
+        int ih = getItemDimension();
+        canvas.save();
+        int top = (mCurrentItemIdx - mFirstItemIdx) * ih + (ih - getHeight()) / 2;
+        canvas.translate(mItemsPadding, - top + mScrollingOffset);
+        mItemsLayout.draw(canvas);
+        canvas.restore();
+    }
+
+    /**
+     * Draws visible text items directly
+     *
+     * @param canvas the canvas for drawing
+     */
+    private void drawTextItems(Canvas canvas) {
+        ItemsRange range = getItemsRange(mTextItemsRange);
+        int ih = getItemDimension();
+        float centerX = getWidth() / 2f;
+        float centerY = (range.getFirst() - mCurrentItemIdx) * ih + getHeight() / 2f + mScrollingOffset;
+        for (int i = range.getFirst(); i <= range.getLast(); i++) {
+            drawTextItem(canvas, i, centerX, centerY);
+            centerY += ih;
+        }
+    }
 
+    @Override
+    protected void drawSelectionDividers(Canvas canvas) {
         if (mSelectionDivider != null) {
+            int w = getMeasuredWidth();
+            int ih = getItemDimension();
+
             // draw the top divider
             int topOfTopDivider = (getHeight() - ih - mSelectionDividerHeight) / 2;
             int bottomOfTopDivider = topOfTopDivider + mSelectionDividerHeight;
             mSelectionDivider.setBounds(0, topOfTopDivider, w, bottomOfTopDivider);
-            mSelectionDivider.draw(mCSeparators);
+            mSelectionDivider.draw(canvas);
 
             // draw the bottom divider
             int topOfBottomDivider =  topOfTopDivider + ih;
             int bottomOfBottomDivider = bottomOfTopDivider + ih;
             mSelectionDivider.setBounds(0, topOfBottomDivider, w, bottomOfBottomDivider);
-            mSelectionDivider.draw(mCSeparators);
+            mSelectionDivider.draw(canvas);
         }
-
-        mCSpin.drawRect(0, 0, w, h, mSelectorWheelPaint);
-        mCSeparators.drawRect(0, 0, w, h, mSeparatorsPaint);
-
-        canvas.drawBitmap(mSpinBitmap, 0, 0, null);
-        canvas.drawBitmap(mSeparatorsBitmap, 0, 0, null);
-        canvas.restore();
-        mC.restore();
-        mCSpin.restore();
     }
 
 }
@@ -24,29 +24,43 @@
 
 package antistatic.spinnerwheel.adapters;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import android.database.DataSetObserver;
 import android.view.View;
 import android.view.ViewGroup;
+import antistatic.spinnerwheel.WheelListenerList;
 
 /**
  * Abstract Wheel adapter.
  */
 public abstract class AbstractWheelAdapter implements WheelViewAdapter {
     // Observers
-    private List<DataSetObserver> datasetObservers;
+    private WheelListenerList<DataSetObserver> datasetObservers;
     
     @Override
     public View getEmptyItem(View convertView, ViewGroup parent) {
         return null;
     }
 
+    @Override
+    public int getItemViewType(int index) {
+        return 0;
+    }
+
+    @Override
+    public int getViewTypeCount() {
+        return 1;
+    }
+
+    @Override
+    public boolean hasCompatibleViewTypes(WheelViewAdapter adapter) {
+        return adapter != null && adapter.getClass() == getClass()
+                && adapter.getViewTypeCount() == getViewTypeCount();
+    }
+
     @Override
     public void registerDataSetObserver(DataSetObserver observer) {
         if (datasetObservers == null) {
-            datasetObservers = new LinkedList<DataSetObserver>();
+            datasetObservers = new WheelListenerList<DataSetObserver>(new DataSetObserver[0]);
         }
         datasetObservers.add(observer);
     }
@@ -63,18 +77,47 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
      */
     protected void notifyDataChangedEvent() {
         if (datasetObservers != null) {
-            for (DataSetObserver observer : datasetObservers) {
+            for (DataSetObserver observer : datasetObservers.getListeners()) {
                 observer.onChanged();
             }
         }
     }
     
+    /**
+     * Notifies observers about changing data of the single item
+     *
+     * @param index the index of changed item
+     */
+    public void notifyItemChanged(int index) {
+        notifyItemRangeChanged(index, 1);
+    }
+
+    /**
+     * Notifies observers about changing data of the range of items.
+     * Items count and item view types are expected to stay the same,
+     * use {@link #notifyDataChangedEvent()} otherwise.
+     *
+     * @param start the index of the first changed item
+     * @param count the count of changed items
+     */
+    public void notifyItemRangeChanged(int start, int count) {
+        if (datasetObservers != null) {
+            for (DataSetObserver observer : datasetObservers.getListeners()) {
+                if (observer instanceof WheelDataSetObserver) {
+                    ((WheelDataSetObserver) observer).onItemRangeChanged(start, count);
+                } else {
+                    observer.onChanged();
+                }
+            }
+        }
+    }
+
     /**
      * Notifies observers about invalidating data
      */
     protected void notifyDataInvalidatedEvent() {
         if (datasetObservers != null) {
-            for (DataSetObserver observer : datasetObservers) {
+            for (DataSetObserver observer : datasetObservers.getListeners()) {
                 observer.onInvalidated();
             }
         }
@@ -0,0 +1,89 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.content.Context;
+
+/**
+ * Text adapter for items standing for int keys, e.g. numbers, dates or times.
+ * Formatted labels are kept in LRU cache by key and dropped when data is changed.
+ */
+public abstract class AbstractWheelCachedTextAdapter extends AbstractWheelTextAdapter {
+
+    /** The default count of formatted labels kept in cache */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private final LabelCache labels;
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param cacheSize the count of formatted labels kept in cache, 0 disables caching
+     */
+    protected AbstractWheelCachedTextAdapter(Context context, int cacheSize) {
+        super(context);
+        labels = new LabelCache(cacheSize) {
+            @Override
+            String format(int key) {
+                return formatItem(key);
+            }
+        };
+    }
+
+    /**
+     * Gets key of item label
+     * @param index the item index, within items count
+     * @return the key
+     */
+    protected abstract int getItemKey(int index);
+
+    /**
+     * Formats item label. Results are cached if cache size is not 0, so label should depend on the key only
+     * until data is changed. May be called on the background thread.
+     * @param key the key, see {@link #getItemKey(int)}
+     * @return the label
+     */
+    protected abstract String formatItem(int key);
+
+    @Override
+    public CharSequence getItemText(int index) {
+        if (index < 0 || index >= getItemsCount()) {
+            return null;
+        }
+        return labels.get(getItemKey(index));
+    }
+
+    @Override
+    protected void notifyDataChangedEvent() {
+        labels.clear();
+        super.notifyDataChangedEvent();
+    }
+
+    @Override
+    protected void notifyDataInvalidatedEvent() {
+        labels.clear();
+        super.notifyDataInvalidatedEvent();
+    }
+}
@@ -25,7 +25,9 @@ package antistatic.spinnerwheel.adapters;
 
 import android.content.Context;
 import android.graphics.Typeface;
+import android.text.TextPaint;
 import android.util.Log;
+import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -33,10 +35,12 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import antistatic.spinnerwheel.R;
 
+import java.util.concurrent.Executor;
+
 /**
  * Abstract spinnerwheel adapter provides common functionality for adapters.
  */
-public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
+public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter implements WheelTextAdapter {
     
     /** Text view resource. Used as a default view for adapter. */
     public static final int TEXT_VIEW_ITEM_RESOURCE = -1;
@@ -72,6 +76,8 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
     // Empty items resources
     protected int emptyItemResourceId;
 
+    // Prepares text of items in background, if enabled
+    private TextPrecomputer textPrecomputer;
 
     /**
      * Constructor
@@ -118,6 +124,7 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     public void setTextColor(int textColor) {
         this.textColor = textColor;
+        invalidatePrecomputedText();
     }
 
     /**
@@ -126,6 +133,7 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     public void setTextTypeface(Typeface typeface) {
         this.textTypeface = typeface;
+        invalidatePrecomputedText();
     }
 
     /**
@@ -142,6 +150,33 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     public void setTextSize(int textSize) {
         this.textSize = textSize;
+        invalidatePrecomputedText();
+    }
+
+    /**
+     * Enables preparing text of the next items ahead of scrolling direction on a shared background thread.
+     * Text is precomputed where platform supports it, so binding it needs no text measurement.
+     * <p>Note that {@link #getItemText(int)} is called on the background thread when enabled,
+     * so it should be thread safe.
+     *
+     * @param itemsAhead the count of items to prepare, 0 disables preparing
+     */
+    public void setPrecomputedItemsCount(int itemsAhead) {
+        setPrecomputedItemsCount(itemsAhead, WheelExecutors.getBackgroundExecutor());
+    }
+
+    /**
+     * Enables preparing text of the next items ahead of scrolling direction on specified executor.
+     *
+     * @param itemsAhead the count of items to prepare, 0 disables preparing
+     * @param executor the executor to prepare text on
+     * @see #setPrecomputedItemsCount(int)
+     */
+    public void setPrecomputedItemsCount(int itemsAhead, Executor executor) {
+        if (textPrecomputer != null) {
+            textPrecomputer.invalidate();
+        }
+        textPrecomputer = itemsAhead > 0 ? new TextPrecomputer(this, itemsAhead, executor) : null;
     }
     
     /**
@@ -207,18 +242,69 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
             }
             TextView textView = getTextView(convertView, itemTextResourceId);
             if (textView != null) {
-                CharSequence text = getItemText(index);
+                // configuring first, as precomputed text has to match text view settings
+                configureTextView(textView, index == currentItemIdx);
+                CharSequence text = null;
+                if (textPrecomputer != null) {
+                    text = textPrecomputer.take(index);
+                    if (text != null && !textPrecomputer.isApplicable(text, textView)) {
+                        text = null;
+                    }
+                }
+                if (text == null) {
+                    text = getItemText(index);
+                }
                 if (text == null) {
                     text = "";
                 }
                 textView.setText(text);
-                configureTextView(textView, index == currentItemIdx);
+                if (textPrecomputer != null) {
+                    textPrecomputer.onBound(textView, index, currentItemIdx);
+                }
             }
             return convertView;
         }
         return null;
     }
 
+    @Override
+    public boolean hasCompatibleViewTypes(WheelViewAdapter adapter) {
+        if (!super.hasCompatibleViewTypes(adapter)) {
+            return false;
+        }
+        AbstractWheelTextAdapter textAdapter = (AbstractWheelTextAdapter) adapter;
+        return textAdapter.itemResourceId == itemResourceId
+                && textAdapter.itemTextResourceId == itemTextResourceId
+                && textAdapter.emptyItemResourceId == emptyItemResourceId;
+    }
+
+    @Override
+    public boolean isTextOnly() {
+        return itemResourceId == TEXT_VIEW_ITEM_RESOURCE;
+    }
+
+    @Override
+    public CharSequence getItemTextForDrawing(int index) {
+        return getItemText(index);
+    }
+
+    /**
+     * Configures paint for drawing items text directly, the same way
+     * {@link #onConfigureTextView(TextView, boolean)} configures the TEXT_VIEW_ITEM_RESOURCE views.
+     * Subclasses customizing text views appearance should customize the paint as well.
+     */
+    @Override
+    public void configureTextPaint(TextPaint paint, boolean isSelectedItem) {
+        paint.setColor(textColor);
+        paint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, textSize,
+                context.getResources().getDisplayMetrics()));
+        if (textTypeface != null) {
+            paint.setTypeface(textTypeface);
+        } else {
+            paint.setTypeface(Typeface.create(Typeface.SANS_SERIF, getDefaultTextStyle()));
+        }
+    }
+
     @Override
     public View getEmptyItem(View convertView, ViewGroup parent) {
         if (convertView == null) {
@@ -231,6 +317,33 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
         return convertView;
     }
 
+    @Override
+    protected void notifyDataChangedEvent() {
+        invalidatePrecomputedText();
+        super.notifyDataChangedEvent();
+    }
+
+    @Override
+    protected void notifyDataInvalidatedEvent() {
+        invalidatePrecomputedText();
+        super.notifyDataInvalidatedEvent();
+    }
+
+    @Override
+    public void notifyItemRangeChanged(int start, int count) {
+        invalidatePrecomputedText();
+        super.notifyItemRangeChanged(start, count);
+    }
+
+    /**
+     * Drops text prepared in background
+     */
+    protected void invalidatePrecomputedText() {
+        if (textPrecomputer != null) {
+            textPrecomputer.invalidate();
+        }
+    }
+
     /**
      * Configures text view. Is called for the TEXT_VIEW_ITEM_RESOURCE views.
      * @param textView the text view to be configured
@@ -272,10 +385,11 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
             if (textResource == NO_RESOURCE && view instanceof TextView) {
                 text = (TextView) view;
             } else if (textResource != NO_RESOURCE) {
-                text = (TextView) view.getTag(textResource);
-                if(text == null) {
+                // framework ids, like android.R.id.text1, may not be used as tag keys
+                text = (TextView) view.getTag(R.id.wheel_item_text_view);
+                if(text == null || text.getId() != textResource) {
                     text = (TextView) view.findViewById(textResource);
-                    view.setTag(textResource, text);
+                    view.setTag(R.id.wheel_item_text_view, text);
                 }
             }
         } catch (ClassCastException e) {
@@ -0,0 +1,262 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.content.Context;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Date Wheel adapter. Items are days from min to max date, dates are given as epoch days,
+ * i.e. count of days since 1970-01-01.
+ * <p>Labels are computed with calendar arithmetic on epoch days and formatted with
+ * {@link java.text.SimpleDateFormat} like pattern, see {@link #setPattern(String)}.
+ */
+public class DateWheelAdapter extends AbstractWheelCachedTextAdapter {
+
+    /** The default date pattern */
+    public static final String DEFAULT_PATTERN = "EEE, MMM d";
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    // Dates range, in epoch days
+    private int minDay;
+    private int maxDay;
+
+    private Locale locale;
+    private WheelDateFormat format;
+    private WheelDateFormat currentYearFormat;
+    private int currentYear;
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minDay the min date, in epoch days
+     * @param maxDay the max date, in epoch days
+     */
+    public DateWheelAdapter(Context context, int minDay, int maxDay) {
+        this(context, minDay, maxDay, DEFAULT_PATTERN);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minDay the min date, in epoch days
+     * @param maxDay the max date, in epoch days
+     * @param pattern the date pattern
+     */
+    public DateWheelAdapter(Context context, int minDay, int maxDay, String pattern) {
+        this(context, minDay, maxDay, pattern, Locale.getDefault(), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minDay the min date, in epoch days
+     * @param maxDay the max date, in epoch days
+     * @param pattern the date pattern
+     * @param locale the locale of month and weekday names
+     * @param cacheSize the count of formatted labels kept in cache, 0 disables caching
+     */
+    public DateWheelAdapter(Context context, int minDay, int maxDay, String pattern, Locale locale, int cacheSize) {
+        super(context, cacheSize);
+        checkRange(minDay, maxDay);
+        this.minDay = minDay;
+        this.maxDay = maxDay;
+        this.locale = locale;
+        this.format = new WheelDateFormat(pattern, locale);
+    }
+
+    /**
+     * Sets date pattern. Supported letters are y, M, d and E, see {@link java.text.SimpleDateFormat}.
+     * @param pattern the date pattern
+     */
+    public void setPattern(String pattern) {
+        format = new WheelDateFormat(pattern, locale);
+        notifyDataChangedEvent();
+    }
+
+    /**
+     * Sets date pattern for dates of the current year, e.g. with no year shown
+     * @param pattern the date pattern, null to use the same pattern for all dates
+     */
+    public void setCurrentYearPattern(String pattern) {
+        if (pattern != null) {
+            currentYearFormat = new WheelDateFormat(pattern, locale);
+            currentYear = getYear(getToday());
+        } else {
+            currentYearFormat = null;
+        }
+        notifyDataChangedEvent();
+    }
+
+    /**
+     * Sets dates range
+     * @param minDay the min date, in epoch days
+     * @param maxDay the max date, in epoch days
+     */
+    public void setRange(int minDay, int maxDay) {
+        checkRange(minDay, maxDay);
+        this.minDay = minDay;
+        this.maxDay = maxDay;
+        notifyDataInvalidatedEvent();
+    }
+
+    /**
+     * Gets the min date
+     * @return the min date, in epoch days
+     */
+    public int getMinDay() {
+        return minDay;
+    }
+
+    /**
+     * Gets the max date
+     * @return the max date, in epoch days
+     */
+    public int getMaxDay() {
+        return maxDay;
+    }
+
+    /**
+     * Gets date of item
+     * @param index the item index
+     * @return the date, in epoch days
+     */
+    public int getDay(int index) {
+        return minDay + index;
+    }
+
+    /**
+     * Gets item index of date
+     * @param day the date, in epoch days
+     * @return the item index, limited by the dates range
+     */
+    public int getItemIndex(int day) {
+        return Math.max(minDay, Math.min(day, maxDay)) - minDay;
+    }
+
+    @Override
+    public int getItemsCount() {
+        return maxDay - minDay + 1;
+    }
+
+    @Override
+    protected int getItemKey(int index) {
+        return minDay + index;
+    }
+
+    @Override
+    protected String formatItem(int day) {
+        long date = toCivil(day);
+        int year = (int) (date >> 9);
+        WheelDateFormat f = currentYearFormat != null && year == currentYear ? currentYearFormat : format;
+        return f.format(year, (int) (date >> 5) & 15, (int) date & 31, getDayOfWeek(day), 0, 0);
+    }
+
+    private static void checkRange(int minDay, int maxDay) {
+        if (maxDay < minDay || (long) maxDay - minDay + 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid dates range: " + minDay + " - " + maxDay);
+        }
+    }
+
+    //--------------------------------------------------------------------------
+    //
+    //  Epoch days arithmetic
+    //
+    //--------------------------------------------------------------------------
+
+    /**
+     * Gets epoch day of date
+     * @param year the year
+     * @param month the month, from 1 to 12
+     * @param dayOfMonth the day of month
+     * @return the count of days since 1970-01-01
+     */
+    public static int toEpochDay(int year, int month, int dayOfMonth) {
+        // days from civil, see http://howardhinnant.github.io/date_algorithms.html
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yoe = y - era * 400;
+        long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return (int) (era * 146097 + doe - 719468);
+    }
+
+    /**
+     * Gets epoch day of the current date in the default time zone
+     * @return the count of days since 1970-01-01
+     */
+    public static int getToday() {
+        long now = System.currentTimeMillis();
+        long local = now + TimeZone.getDefault().getOffset(now);
+        long day = local / MILLIS_PER_DAY;
+        if (local < 0 && local % MILLIS_PER_DAY != 0) {
+            day--;
+        }
+        return (int) day;
+    }
+
+    /**
+     * Gets day of week of epoch day
+     * @param day the count of days since 1970-01-01
+     * @return the day of week, from {@link java.util.Calendar#SUNDAY} to {@link java.util.Calendar#SATURDAY}
+     */
+    public static int getDayOfWeek(int day) {
+        // 1970-01-01 is Thursday
+        int dow = (int) ((day + 4L) % 7);
+        return (dow < 0 ? dow + 7 : dow) + 1;
+    }
+
+    /**
+     * Gets year of epoch day
+     * @param day the count of days since 1970-01-01
+     * @return the year
+     */
+    public static int getYear(int day) {
+        return (int) (toCivil(day) >> 9);
+    }
+
+    /**
+     * Converts epoch day to civil date. The date is packed into long, so no object is allocated:
+     * bits from 9 are the year, bits 5 to 8 are the month, from 1 to 12, bits 0 to 4 are the day of month.
+     * @param day the count of days since 1970-01-01
+     * @return the packed date
+     */
+    private static long toCivil(int day) {
+        // civil from days, see http://howardhinnant.github.io/date_algorithms.html
+        long z = day + 719468L;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int doe = (int) (z - era * 146097);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int dayOfMonth = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | dayOfMonth;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package antistatic.spinnerwheel.adapters;
+
+import java.util.Arrays;
+
+/**
+ * LRU cache with primitive int keys. Doesn't allocate on lookups and insertions.
+ * Is not thread safe.
+ *
+ * @param <V> the value type
+ */
+class IntLruCache<V> {
+
+    private static final int NONE = -1;
+
+    private final int[] keys;
+    private final Object[] values;
+
+    // Hash chains
+    private final int[] buckets;
+    private final int[] chainNext;
+
+    // Usage order, from the least recently used head to the most recently used tail
+    private final int[] prev;
+    private final int[] next;
+    private int head = NONE;
+    private int tail = NONE;
+
+    private int size;
+
+    /**
+     * Constructor
+     * @param capacity the maximum count of entries
+     */
+    IntLruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive");
+        }
+        keys = new int[capacity];
+        values = new Object[capacity];
+        chainNext = new int[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+        int bucketsCount = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        buckets = new int[bucketsCount];
+        Arrays.fill(buckets, NONE);
+    }
+
+    /**
+     * Gets value and marks it as the most recently used
+     * @param key the key
+     * @return the value or null if there is no one
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int slot = find(key);
+        if (slot == NONE) {
+            return null;
+        }
+        moveToTail(slot);
+        return (V) values[slot];
+    }
+
+    /**
+     * Puts value, evicting the least recently used one if cache is full
+     * @param key the key
+     * @param value the value, not null
+     */
+    void put(int key, V value) {
+        int slot = find(key);
+        if (slot == NONE) {
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                slot = head;
+                unlink(slot);
+                unchain(slot);
+            }
+            keys[slot] = key;
+            int bucket = bucket(key);
+            chainNext[slot] = buckets[bucket];
+            buckets[bucket] = slot;
+            link(slot);
+        } else {
+            moveToTail(slot);
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Removes all entries
+     */
+    void clear() {
+        Arrays.fill(buckets, NONE);
+        Arrays.fill(values, null);
+        head = tail = NONE;
+        size = 0;
+    }
+
+    private int bucket(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (buckets.length - 1);
+    }
+
+    private int find(int key) {
+        for (int slot = buckets[bucket(key)]; slot != NONE; slot = chainNext[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return NONE;
+    }
+
+    private void unchain(int slot) {
+        int bucket = bucket(keys[slot]);
+        if (buckets[bucket] == slot) {
+            buckets[bucket] = chainNext[slot];
+            return;
+        }
+        for (int s = buckets[bucket]; s != NONE; s = chainNext[s]) {
+            if (chainNext[s] == slot) {
+                chainNext[s] = chainNext[slot];
+                return;
+            }
+        }
+    }
+
+    private void moveToTail(int slot) {
+        if (slot != tail) {
+            unlink(slot);
+            link(slot);
+        }
+    }
+
+    private void link(int slot) {
+        prev[slot] = tail;
+        next[slot] = NONE;
+        if (tail != NONE) {
+            next[tail] = slot;
+        } else {
+            head = slot;
+        }
+        tail = slot;
+    }
+
+    private void unlink(int slot) {
+        if (prev[slot] != NONE) {
+            next[prev[slot]] = next[slot];
+        } else {
+            head = next[slot];
+        }
+        if (next[slot] != NONE) {
+            prev[next[slot]] = prev[slot];
+        } else {
+            tail = prev[slot];
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+/**
+ * Cache of item labels keyed by int, e.g. by the value or the date item stands for.
+ * Missing labels are formatted with {@link #format(int)}. Is thread safe, as item text
+ * may be prepared in background.
+ */
+abstract class LabelCache {
+
+    // Labels, guarded by itself. Is null if caching is disabled
+    private final IntLruCache<String> labels;
+
+    /**
+     * Constructor
+     * @param capacity the count of labels kept in cache, 0 disables caching
+     */
+    LabelCache(int capacity) {
+        labels = capacity > 0 ? new IntLruCache<String>(capacity) : null;
+    }
+
+    /**
+     * Gets label from cache, formatting it if there is no one.
+     * Labels are formatted out of the lock, so slow formatting doesn't block other threads.
+     * @param key the label key
+     * @return the label
+     */
+    String get(int key) {
+        if (labels == null) {
+            return format(key);
+        }
+        String label;
+        synchronized (labels) {
+            label = labels.get(key);
+        }
+        if (label == null) {
+            label = format(key);
+            if (label != null) {
+                synchronized (labels) {
+                    labels.put(key, label);
+                }
+            }
+        }
+        return label;
+    }
+
+    /**
+     * Drops all cached labels
+     */
+    void clear() {
+        if (labels != null) {
+            synchronized (labels) {
+                labels.clear();
+            }
+        }
+    }
+
+    /**
+     * Formats label. May be called on any thread.
+     * @param key the label key
+     * @return the label, null labels are not cached
+     */
+    abstract String format(int key);
+}
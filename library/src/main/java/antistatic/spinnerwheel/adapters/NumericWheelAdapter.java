@@ -27,10 +27,13 @@ package antistatic.spinnerwheel.adapters;
 import android.content.Context;
 import android.database.DataSetObserver;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Numeric Wheel adapter.
  */
-public class NumericWheelAdapter extends AbstractWheelTextAdapter {
+public class NumericWheelAdapter extends AbstractWheelCachedTextAdapter {
 
     public interface IntParamFunction<R> {
         R apply(int i);
@@ -42,6 +45,9 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
     /** The default max value */
     private static final int DEFAULT_MIN_VALUE = 0;
 
+    // Formats which don't need String.format(): "%d" or "%0Nd", with optional literal prefix and suffix
+    private static final Pattern SIMPLE_FORMAT = Pattern.compile("([^%]*)%(0([1-9][0-9]?))?d([^%]*)");
+
     // Values
     private int minValue;
     private int maxValue;
@@ -76,19 +82,44 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
      * @param maxValue the spinnerwheel max value
      * @param format the format string
      */
-    public NumericWheelAdapter(Context context, int minValue, int maxValue, final String format) {
-        this(context, minValue, maxValue, new IntParamFunction<String>() {
-            @Override public String apply(int i) {
-                if (format == null) {
-                    return Integer.toString(i);
-                }
-                return String.format(format, i);
-            }
-        });
+    public NumericWheelAdapter(Context context, int minValue, int maxValue, String format) {
+        this(context, minValue, maxValue, format, DEFAULT_CACHE_SIZE);
     }
 
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minValue the spinnerwheel min value
+     * @param maxValue the spinnerwheel max value
+     * @param format the format string
+     * @param cacheSize the count of formatted values kept in cache, 0 disables caching
+     */
+    public NumericWheelAdapter(Context context, int minValue, int maxValue, String format, int cacheSize) {
+        this(context, minValue, maxValue, createFormatFunction(format), cacheSize);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minValue the spinnerwheel min value
+     * @param maxValue the spinnerwheel max value
+     * @param formatFunction the function formatting values, its results are not cached
+     */
     public NumericWheelAdapter(Context context, int minValue, int maxValue, IntParamFunction<String> formatFunction) {
-        super(context);
+        this(context, minValue, maxValue, formatFunction, 0);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minValue the spinnerwheel min value
+     * @param maxValue the spinnerwheel max value
+     * @param formatFunction the function formatting values, should depend on value only if results are cached
+     * @param cacheSize the count of formatted values kept in cache, 0 disables caching
+     */
+    public NumericWheelAdapter(Context context, int minValue, int maxValue, IntParamFunction<String> formatFunction,
+                               int cacheSize) {
+        super(context, cacheSize);
 
         this.minValue = minValue;
         this.maxValue = maxValue;
@@ -112,12 +143,47 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
         notifyDataInvalidatedEvent();
     }
 
-    @Override public CharSequence getItemText(int index) {
-        if (index >= 0 && index < getItemsCount()) {
-            int value = minValue + index;
-            return formatFunction != null ? formatFunction.apply(value) : Integer.toString(value);
+    @Override
+    protected int getItemKey(int index) {
+        return minValue + index;
+    }
+
+    @Override
+    protected String formatItem(int value) {
+        return formatFunction != null ? formatFunction.apply(value) : Integer.toString(value);
+    }
+
+    /**
+     * Creates function formatting values with format string.
+     * Zero-padded "%0Nd" and plain "%d" formats are handled with no String.format() call.
+     *
+     * @param format the format string, may be null
+     * @return the format function
+     */
+    private static IntParamFunction<String> createFormatFunction(final String format) {
+        if (format == null) {
+            return new IntParamFunction<String>() {
+                @Override public String apply(int i) {
+                    return Integer.toString(i);
+                }
+            };
         }
-        return null;
+        Matcher matcher = SIMPLE_FORMAT.matcher(format);
+        if (matcher.matches()) {
+            String width = matcher.group(3);
+            final ZeroPaddedFormat zeroPaddedFormat = new ZeroPaddedFormat(matcher.group(1),
+                    width != null ? Integer.parseInt(width) : 0, matcher.group(4), format);
+            return new IntParamFunction<String>() {
+                @Override public String apply(int i) {
+                    return zeroPaddedFormat.format(i);
+                }
+            };
+        }
+        return new IntParamFunction<String>() {
+            @Override public String apply(int i) {
+                return String.format(format, i);
+            }
+        };
     }
 
     @Override public int getItemsCount() {
@@ -0,0 +1,330 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package antistatic.spinnerwheel.adapters;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.SparseBooleanArray;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Wheel adapter loading items text by fixed-size pages.
+ * Pages are loaded on a background executor and kept in LRU cache of limited size,
+ * so memory consumption doesn't depend on items count.
+ * Placeholder text is shown for items whose page is not loaded yet.
+ * <p>Items text may be requested off the main thread, see {@link #setPrecomputedItemsCount(int)},
+ * so pages state is guarded by a lock.
+ */
+public class PagedWheelAdapter extends AbstractWheelTextAdapter {
+
+    private static final String LOG_TAG = "PagedWheelAdapter";
+
+    // Delay before items of the page failed to load are rebound, so the page is requested again
+    private static final long FAILED_PAGE_RETRY_DELAY_MS = 1000;
+
+    /**
+     * Loads items text. Methods of the loader are called on the background executor.
+     */
+    public interface PageLoader {
+        /**
+         * Loads text of items in range
+         * @param start the index of the first item in the page
+         * @param count the count of items in the page
+         * @return text of items, array length should be equal to count
+         */
+        CharSequence[] loadPage(int start, int count);
+    }
+
+    /** The default count of items in the page */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** The default count of pages kept in cache */
+    public static final int DEFAULT_MAX_PAGES = 8;
+
+    /** The default text shown for items not loaded yet */
+    public static final CharSequence DEFAULT_PLACEHOLDER = "…";
+
+    // Loading
+    private final PageLoader loader;
+    private final Executor executor;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    // Guards the state below
+    private final Object lock = new Object();
+
+    // Pages
+    private final int pageSize;
+    private final int maxPages;
+    private final SparseBooleanArray pendingPages = new SparseBooleanArray();
+
+    // LRU cache of loaded pages. Is small, so it is scanned linearly
+    private final int[] cachedPageNumbers;
+    private final CharSequence[][] cachedPages;
+    private final long[] cachedPagesLastUse;
+    private long useCounter;
+
+    // Is increased each time loaded pages become outdated, so results of loads in progress are dropped
+    private int generation;
+
+    private int itemsCount;
+    private CharSequence placeholder = DEFAULT_PLACEHOLDER;
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param itemsCount the count of items
+     * @param loader the page loader
+     */
+    public PagedWheelAdapter(Context context, int itemsCount, PageLoader loader) {
+        this(context, itemsCount, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES, loader, WheelExecutors.getBackgroundExecutor());
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param itemsCount the count of items
+     * @param pageSize the count of items in the page
+     * @param maxPages the count of pages kept in cache
+     * @param loader the page loader
+     * @param executor the executor to run the page loader on
+     */
+    public PagedWheelAdapter(Context context, int itemsCount, int pageSize, int maxPages,
+                             PageLoader loader, Executor executor) {
+        super(context);
+        if (pageSize <= 0 || maxPages <= 0) {
+            throw new IllegalArgumentException("Page size and pages count should be positive");
+        }
+        this.itemsCount = itemsCount;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.loader = loader;
+        this.executor = executor;
+        this.cachedPageNumbers = new int[maxPages];
+        this.cachedPages = new CharSequence[maxPages][];
+        this.cachedPagesLastUse = new long[maxPages];
+    }
+
+    /**
+     * Gets text shown for items not loaded yet
+     * @return the placeholder text
+     */
+    public CharSequence getPlaceholder() {
+        synchronized (lock) {
+            return placeholder;
+        }
+    }
+
+    /**
+     * Sets text shown for items not loaded yet
+     * @param placeholder the placeholder text
+     */
+    public void setPlaceholder(CharSequence placeholder) {
+        synchronized (lock) {
+            this.placeholder = placeholder;
+        }
+    }
+
+    /**
+     * Gets count of items in the page
+     * @return the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets count of pages kept in cache
+     * @return the maximum count of cached pages
+     */
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * Sets count of items. Drops all loaded pages.
+     * @param itemsCount the count of items
+     */
+    public void setItemsCount(int itemsCount) {
+        synchronized (lock) {
+            this.itemsCount = itemsCount;
+            invalidatePages();
+        }
+        notifyDataInvalidatedEvent();
+    }
+
+    /**
+     * Drops all loaded pages, so items will be loaded again
+     */
+    public void reload() {
+        synchronized (lock) {
+            invalidatePages();
+        }
+        notifyDataChangedEvent();
+    }
+
+    @Override
+    public int getItemsCount() {
+        synchronized (lock) {
+            return itemsCount;
+        }
+    }
+
+    @Override
+    protected CharSequence getItemText(int index) {
+        int page;
+        int start;
+        int count;
+        int requestGeneration;
+        CharSequence text;
+        synchronized (lock) {
+            if (index < 0 || index >= itemsCount) {
+                return null;
+            }
+            page = index / pageSize;
+            CharSequence[] texts = getCachedPage(page);
+            if (texts != null) {
+                int offset = index - page * pageSize;
+                return offset < texts.length ? texts[offset] : null;
+            }
+            text = placeholder;
+            if (pendingPages.get(page)) {
+                return text;
+            }
+            pendingPages.put(page, true);
+            start = page * pageSize;
+            count = Math.min(pageSize, itemsCount - start);
+            requestGeneration = generation;
+        }
+        // the loader is started out of the lock, as executor may run it right away
+        requestPage(page, start, count, requestGeneration);
+        return text;
+    }
+
+    /**
+     * Starts loading of the page marked as pending
+     * @param page the page number
+     * @param start the index of the first item in the page
+     * @param count the count of items in the page
+     * @param requestGeneration the generation of pages the request is made for
+     */
+    private void requestPage(final int page, final int start, final int count, final int requestGeneration) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CharSequence[] loaded;
+                try {
+                    loaded = loader.loadPage(start, count);
+                } catch (RuntimeException e) {
+                    Log.w(LOG_TAG, "Failed to load page " + page, e);
+                    loaded = null;
+                }
+                final CharSequence[] texts = loaded;
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(page, start, count, texts, requestGeneration);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Puts loaded page to cache and notifies observers. Is called on the main thread.
+     * Failed page is marked as not pending, and observers are notified after a delay,
+     * so the page is requested again by its items being shown.
+     */
+    private void onPageLoaded(int page, final int start, final int count, CharSequence[] texts,
+                              int requestGeneration) {
+        synchronized (lock) {
+            if (requestGeneration != generation) {
+                return; // outdated
+            }
+            pendingPages.delete(page);
+            if (texts != null) {
+                putCachedPage(page, texts);
+            }
+        }
+        if (texts != null) {
+            notifyItemRangeChanged(start, count);
+        } else {
+            handler.postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    notifyItemRangeChanged(start, count);
+                }
+            }, FAILED_PAGE_RETRY_DELAY_MS);
+        }
+    }
+
+    /**
+     * Gets page from cache and marks it as the most recently used. Is called with the lock held.
+     * @param page the page number
+     * @return page items text or null if page is not cached
+     */
+    private CharSequence[] getCachedPage(int page) {
+        for (int i = 0; i < maxPages; i++) {
+            if (cachedPages[i] != null && cachedPageNumbers[i] == page) {
+                cachedPagesLastUse[i] = ++useCounter;
+                return cachedPages[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts page to cache in place of the least recently used one. Is called with the lock held.
+     * @param page the page number
+     * @param texts page items text
+     */
+    private void putCachedPage(int page, CharSequence[] texts) {
+        int slot = 0;
+        for (int i = 0; i < maxPages; i++) {
+            if (cachedPages[i] == null || cachedPageNumbers[i] == page) {
+                slot = i;
+                break;
+            }
+            if (cachedPagesLastUse[i] < cachedPagesLastUse[slot]) {
+                slot = i;
+            }
+        }
+        cachedPageNumbers[slot] = page;
+        cachedPages[slot] = texts;
+        cachedPagesLastUse[slot] = ++useCounter;
+    }
+
+    /**
+     * Drops loaded pages and results of loads in progress. Is called with the lock held.
+     */
+    private void invalidatePages() {
+        generation++;
+        for (int i = 0; i < maxPages; i++) {
+            cachedPages[i] = null;
+        }
+        pendingPages.clear();
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package antistatic.spinnerwheel.adapters;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Layout;
+import android.text.TextPaint;
+import android.util.SparseBooleanArray;
+import android.widget.TextView;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+
+/**
+ * Prepares text of items ahead of scrolling direction on a background executor.
+ * <p>On API 28+ text is converted to <code>android.text.PrecomputedText</code>, so binding it to
+ * a {@link TextView} needs no text measurement. On older API levels text is measured with a copy
+ * of item paint, which warms up platform text measurement cache, and the plain text is kept.
+ * <p>All the methods should be called on the main thread.
+ */
+class TextPrecomputer {
+
+    private static final int API_PRECOMPUTED_TEXT = 28;
+
+    // PrecomputedText is not available in compile SDK, so it is accessed via reflection
+    private static Class<?> sPrecomputedTextClass;
+    private static Method sGetTextMetricsParams;
+    private static Method sCreatePrecomputedText;
+
+    static {
+        if (Build.VERSION.SDK_INT >= API_PRECOMPUTED_TEXT) {
+            try {
+                Class<?> precomputedText = Class.forName("android.text.PrecomputedText");
+                Class<?> params = Class.forName("android.text.PrecomputedText$Params");
+                sGetTextMetricsParams = TextView.class.getMethod("getTextMetricsParams");
+                sCreatePrecomputedText = precomputedText.getMethod("create", CharSequence.class, params);
+                sPrecomputedTextClass = precomputedText;
+            } catch (Exception e) {
+                sPrecomputedTextClass = null;
+                sGetTextMetricsParams = null;
+                sCreatePrecomputedText = null;
+            }
+        }
+    }
+
+    private final AbstractWheelTextAdapter adapter;
+    private final Executor executor;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final int itemsAhead;
+
+    // Prepared text, ring buffer keyed by item index
+    private final int[] preparedIndices;
+    private final CharSequence[] preparedTexts;
+    private int preparedHead;
+
+    // Items queued, being prepared or waiting for delivery
+    private final SparseBooleanArray pendingItems = new SparseBooleanArray();
+
+    // Fields below are shared with the executor thread, guarded by lock
+    private final Object lock = new Object();
+
+    // Items to prepare, nearest first
+    private final int[] queuedIndices;
+    private int queuedCount;
+    private boolean prepareTaskQueued;
+
+    // Text prepared on the executor thread and not yet delivered to the main thread
+    private final int[] readyIndices;
+    private final CharSequence[] readyTexts;
+    private int readyCount;
+    private boolean deliverTaskPosted;
+
+    // Is increased each time prepared text becomes outdated
+    private int generation;
+
+    // Text metrics captured from a bound text view
+    private Object textMetricsParams;
+    // Copy of item paint for measuring on the executor thread, as paint is not thread safe
+    private TextPaint textPaint;
+
+    // Prepares queued items one by one, is executed at most once at a time
+    private final Runnable prepareTask = new Runnable() {
+        @Override
+        public void run() {
+            while (true) {
+                int index;
+                int requestGeneration;
+                Object params;
+                TextPaint paint;
+                synchronized (lock) {
+                    if (queuedCount == 0) {
+                        prepareTaskQueued = false;
+                        return;
+                    }
+                    index = queuedIndices[0];
+                    queuedCount--;
+                    System.arraycopy(queuedIndices, 1, queuedIndices, 0, queuedCount);
+                    requestGeneration = generation;
+                    params = textMetricsParams;
+                    paint = textPaint;
+                }
+
+                CharSequence text = adapter.getItemText(index);
+                text = prepare(text != null ? text : "", params, paint);
+
+                synchronized (lock) {
+                    if (requestGeneration != generation) {
+                        continue; // outdated
+                    }
+                    readyIndices[readyCount] = index;
+                    readyTexts[readyCount] = text;
+                    readyCount++;
+                    if (!deliverTaskPosted) {
+                        deliverTaskPosted = true;
+                        handler.post(deliverTask);
+                    }
+                }
+            }
+        }
+    };
+
+    // Moves text prepared on the executor thread to the main thread
+    private final Runnable deliverTask = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (lock) {
+                for (int i = 0; i < readyCount; i++) {
+                    pendingItems.delete(readyIndices[i]);
+                    preparedIndices[preparedHead] = readyIndices[i];
+                    preparedTexts[preparedHead] = readyTexts[i];
+                    preparedHead = (preparedHead + 1) % preparedTexts.length;
+                    readyTexts[i] = null;
+                }
+                readyCount = 0;
+                deliverTaskPosted = false;
+            }
+        }
+    };
+
+    /**
+     * Constructor
+     * @param adapter the adapter providing text; its getItemText() is called on the executor thread
+     * @param itemsAhead the count of items to prepare ahead of scrolling direction
+     * @param executor the executor to prepare text on
+     */
+    TextPrecomputer(AbstractWheelTextAdapter adapter, int itemsAhead, Executor executor) {
+        this.adapter = adapter;
+        this.itemsAhead = itemsAhead;
+        this.executor = executor;
+        preparedIndices = new int[itemsAhead * 2];
+        preparedTexts = new CharSequence[itemsAhead * 2];
+        // pending items are limited by prepared buffer size, so these never overflow
+        queuedIndices = new int[itemsAhead * 2];
+        readyIndices = new int[itemsAhead * 2];
+        readyTexts = new CharSequence[itemsAhead * 2];
+    }
+
+    /**
+     * Takes text prepared for the item
+     * @param index the item index
+     * @return the prepared text or null if there is no one
+     */
+    CharSequence take(int index) {
+        for (int i = 0; i < preparedTexts.length; i++) {
+            if (preparedTexts[i] != null && preparedIndices[i] == index) {
+                CharSequence text = preparedTexts[i];
+                preparedTexts[i] = null;
+                return text;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether text prepared for the text view can be bound to it
+     * @param text the prepared text
+     * @param textView the configured text view
+     * @return false if text has been prepared for another text metrics
+     */
+    boolean isApplicable(CharSequence text, TextView textView) {
+        if (sPrecomputedTextClass == null || !sPrecomputedTextClass.isInstance(text)) {
+            return true;
+        }
+        Object params = getTextMetricsParams(textView);
+        synchronized (lock) {
+            return params != null && params.equals(textMetricsParams);
+        }
+    }
+
+    /**
+     * Is called when item text has been bound. Schedules preparation of the next items
+     * in the direction the bound item is located relatively to the current one.
+     * <p>Adapter doesn't know whether the spinnerwheel is cyclic, so the direction is taken
+     * the shortest way around and the next items are wrapped across the first and the last ones.
+     *
+     * @param textView the text view the item text has been bound to
+     * @param index the item index
+     * @param currentItemIdx the current item index
+     */
+    void onBound(TextView textView, int index, int currentItemIdx) {
+        int count = adapter.getItemsCount();
+        if (count == 0) {
+            return;
+        }
+        int distance = index - currentItemIdx;
+        if (distance > count / 2) {
+            distance -= count;
+        } else if (distance < -count / 2) {
+            distance += count;
+        }
+        int direction = Integer.signum(distance);
+        if (direction == 0) {
+            return;
+        }
+
+        boolean execute = false;
+        synchronized (lock) {
+            if (textMetricsParams == null && textPaint == null) {
+                captureTextMetrics(textView);
+            }
+            for (int i = 1; i <= itemsAhead && i < count; i++) {
+                int next = index + direction * i;
+                next %= count;
+                if (next < 0) {
+                    next += count;
+                }
+                if (pendingItems.get(next) || isPrepared(next)) {
+                    continue;
+                }
+                if (pendingItems.size() >= queuedIndices.length) {
+                    break;
+                }
+                queuedIndices[queuedCount++] = next;
+                pendingItems.put(next, true);
+            }
+            if (queuedCount > 0 && !prepareTaskQueued) {
+                prepareTaskQueued = true;
+                execute = true;
+            }
+        }
+        if (execute) {
+            executor.execute(prepareTask);
+        }
+    }
+
+    /**
+     * Drops all prepared text, for example when items or text appearance have been changed
+     */
+    void invalidate() {
+        for (int i = 0; i < preparedTexts.length; i++) {
+            preparedTexts[i] = null;
+        }
+        pendingItems.clear();
+        synchronized (lock) {
+            generation++;
+            queuedCount = 0;
+            for (int i = 0; i < readyCount; i++) {
+                readyTexts[i] = null;
+            }
+            readyCount = 0;
+            textMetricsParams = null;
+            textPaint = null;
+        }
+    }
+
+    private boolean isPrepared(int index) {
+        for (int i = 0; i < preparedTexts.length; i++) {
+            if (preparedTexts[i] != null && preparedIndices[i] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void captureTextMetrics(TextView textView) {
+        if (sGetTextMetricsParams != null) {
+            textMetricsParams = getTextMetricsParams(textView);
+        }
+        if (textMetricsParams == null) {
+            textPaint = new TextPaint(textView.getPaint());
+        }
+    }
+
+    /**
+     * Prepares text on the executor thread
+     */
+    private static CharSequence prepare(CharSequence text, Object params, TextPaint paint) {
+        if (params != null) {
+            try {
+                return (CharSequence) sCreatePrecomputedText.invoke(null, text, params);
+            } catch (Exception e) {
+                return text;
+            }
+        }
+        if (paint != null) {
+            Layout.getDesiredWidth(text, paint);
+        }
+        return text;
+    }
+
+    private static Object getTextMetricsParams(TextView textView) {
+        try {
+            return sGetTextMetricsParams.invoke(textView);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.content.Context;
+
+import java.util.Locale;
+
+/**
+ * Time Wheel adapter. Items are times of day from min to max time with the fixed step,
+ * times are given as minutes since midnight.
+ * <p>Labels are formatted with {@link java.text.SimpleDateFormat} like pattern, see {@link #setPattern(String)}.
+ */
+public class TimeWheelAdapter extends AbstractWheelCachedTextAdapter {
+
+    /** The default time pattern */
+    public static final String DEFAULT_PATTERN = "HH:mm";
+
+    /** Minutes in a day */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Times range, in minutes since midnight
+    private int minMinute;
+    private int maxMinute;
+    private int step;
+
+    private Locale locale;
+    private WheelDateFormat format;
+
+    /**
+     * Constructor for all times of day with the step of one minute
+     * @param context the current context
+     */
+    public TimeWheelAdapter(Context context) {
+        this(context, 0, MINUTES_PER_DAY - 1, 1);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minMinute the min time, in minutes since midnight
+     * @param maxMinute the max time, in minutes since midnight
+     * @param step the step between items, in minutes
+     */
+    public TimeWheelAdapter(Context context, int minMinute, int maxMinute, int step) {
+        this(context, minMinute, maxMinute, step, DEFAULT_PATTERN, Locale.getDefault(), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minMinute the min time, in minutes since midnight
+     * @param maxMinute the max time, in minutes since midnight
+     * @param step the step between items, in minutes
+     * @param pattern the time pattern
+     * @param locale the locale of AM/PM markers
+     * @param cacheSize the count of formatted labels kept in cache, 0 disables caching
+     */
+    public TimeWheelAdapter(Context context, int minMinute, int maxMinute, int step,
+                            String pattern, Locale locale, int cacheSize) {
+        super(context, cacheSize);
+        checkRange(minMinute, maxMinute, step);
+        this.minMinute = minMinute;
+        this.maxMinute = maxMinute;
+        this.step = step;
+        this.locale = locale;
+        this.format = new WheelDateFormat(pattern, locale);
+    }
+
+    /**
+     * Sets time pattern. Supported letters are H, h, m and a, see {@link java.text.SimpleDateFormat}.
+     * @param pattern the time pattern
+     */
+    public void setPattern(String pattern) {
+        format = new WheelDateFormat(pattern, locale);
+        notifyDataChangedEvent();
+    }
+
+    /**
+     * Sets times range
+     * @param minMinute the min time, in minutes since midnight
+     * @param maxMinute the max time, in minutes since midnight
+     * @param step the step between items, in minutes
+     */
+    public void setRange(int minMinute, int maxMinute, int step) {
+        checkRange(minMinute, maxMinute, step);
+        this.minMinute = minMinute;
+        this.maxMinute = maxMinute;
+        this.step = step;
+        notifyDataInvalidatedEvent();
+    }
+
+    /**
+     * Gets time of item
+     * @param index the item index
+     * @return the time, in minutes since midnight
+     */
+    public int getMinute(int index) {
+        return minMinute + index * step;
+    }
+
+    /**
+     * Gets index of item nearest to the time
+     * @param minute the time, in minutes since midnight
+     * @return the item index, limited by the times range
+     */
+    public int getItemIndex(int minute) {
+        int index = (minute - minMinute + step / 2) / step;
+        return Math.max(0, Math.min(index, getItemsCount() - 1));
+    }
+
+    @Override
+    public int getItemsCount() {
+        return (maxMinute - minMinute) / step + 1;
+    }
+
+    @Override
+    protected int getItemKey(int index) {
+        return getMinute(index);
+    }
+
+    @Override
+    protected String formatItem(int minute) {
+        return format.format(0, 1, 1, 1, minute / 60, minute % 60);
+    }
+
+    private static void checkRange(int minMinute, int maxMinute, int step) {
+        if (minMinute < 0 || maxMinute >= MINUTES_PER_DAY || maxMinute < minMinute || step <= 0) {
+            throw new IllegalArgumentException("Invalid times range: " + minMinute + " - " + maxMinute
+                    + ", step " + step);
+        }
+    }
+}
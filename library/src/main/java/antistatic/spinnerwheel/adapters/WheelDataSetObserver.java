@@ -0,0 +1,46 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.database.DataSetObserver;
+
+/**
+ * Data set observer which is able to receive notifications about changes of particular items.
+ * Plain {@link DataSetObserver}s receive {@link #onChanged()} instead.
+ */
+public abstract class WheelDataSetObserver extends DataSetObserver {
+
+    /**
+     * This method is called when some items have been changed in place,
+     * with items count and item view types left the same.
+     * Calls {@link #onChanged()} by default.
+     *
+     * @param start the index of the first changed item
+     * @param count the count of changed items
+     */
+    public void onItemRangeChanged(int start, int count) {
+        onChanged();
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import java.text.DateFormatSymbols;
+import java.text.DecimalFormatSymbols;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Formats dates and times with a subset of {@link java.text.SimpleDateFormat} patterns,
+ * with month, weekday and AM/PM names taken once from locale symbols.
+ * <p>Supported letters are y, M, d, E, H, h, m and a, text in single quotes is copied as is.
+ * Is thread safe.
+ */
+final class WheelDateFormat {
+
+    private static final int LITERAL  = 0;
+    private static final int YEAR     = 1;
+    private static final int MONTH    = 2;
+    private static final int DAY      = 3;
+    private static final int WEEKDAY  = 4;
+    private static final int HOUR     = 5;
+    private static final int HOUR12   = 6;
+    private static final int MINUTE   = 7;
+    private static final int AM_PM    = 8;
+
+    // Compiled pattern: field kind, letters count and literal text per token
+    private final int[] kinds;
+    private final int[] counts;
+    private final String[] literals;
+
+    private final String[] months;
+    private final String[] shortMonths;
+    private final String[] weekdays;
+    private final String[] shortWeekdays;
+    private final String[] amPm;
+    private final char zeroDigit;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * Constructor
+     * @param pattern the date format pattern
+     * @param locale the locale of names and digits
+     * @throws IllegalArgumentException if pattern contains unsupported letters or unterminated quote
+     */
+    WheelDateFormat(String pattern, Locale locale) {
+        int length = pattern.length();
+        int[] kinds = new int[length];
+        int[] counts = new int[length];
+        String[] literals = new String[length];
+        int tokens = 0;
+
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                StringBuilder literal = new StringBuilder();
+                i++;
+                if (i < length && pattern.charAt(i) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    while (true) {
+                        if (i >= length) {
+                            throw new IllegalArgumentException("Unterminated quote in pattern: " + pattern);
+                        }
+                        char q = pattern.charAt(i++);
+                        if (q == '\'') {
+                            if (i < length && pattern.charAt(i) == '\'') {
+                                literal.append('\'');
+                                i++;
+                            } else {
+                                break;
+                            }
+                        } else {
+                            literal.append(q);
+                        }
+                    }
+                }
+                kinds[tokens] = LITERAL;
+                literals[tokens++] = literal.toString();
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int start = i;
+                while (i < length && pattern.charAt(i) == c) {
+                    i++;
+                }
+                kinds[tokens] = getKind(c, pattern);
+                counts[tokens++] = i - start;
+            } else {
+                int start = i;
+                while (i < length && !isSpecial(pattern.charAt(i))) {
+                    i++;
+                }
+                kinds[tokens] = LITERAL;
+                literals[tokens++] = pattern.substring(start, i);
+            }
+        }
+
+        this.kinds = new int[tokens];
+        this.counts = new int[tokens];
+        this.literals = new String[tokens];
+        System.arraycopy(kinds, 0, this.kinds, 0, tokens);
+        System.arraycopy(counts, 0, this.counts, 0, tokens);
+        System.arraycopy(literals, 0, this.literals, 0, tokens);
+
+        DateFormatSymbols symbols = new DateFormatSymbols(locale);
+        months = symbols.getMonths();
+        shortMonths = symbols.getShortMonths();
+        weekdays = symbols.getWeekdays();
+        shortWeekdays = symbols.getShortWeekdays();
+        amPm = symbols.getAmPmStrings();
+        zeroDigit = new DecimalFormatSymbols(locale).getZeroDigit();
+    }
+
+    private static boolean isSpecial(char c) {
+        return c == '\'' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static int getKind(char letter, String pattern) {
+        switch (letter) {
+            case 'y': return YEAR;
+            case 'M': return MONTH;
+            case 'd': return DAY;
+            case 'E': return WEEKDAY;
+            case 'H': return HOUR;
+            case 'h': return HOUR12;
+            case 'm': return MINUTE;
+            case 'a': return AM_PM;
+            default:
+                throw new IllegalArgumentException("Unsupported letter '" + letter + "' in pattern: " + pattern);
+        }
+    }
+
+    /**
+     * Formats date and time fields
+     * @param year the year
+     * @param month the month, from 1 to 12
+     * @param day the day of month
+     * @param dayOfWeek the day of week, from {@link Calendar#SUNDAY} to {@link Calendar#SATURDAY}
+     * @param hour the hour of day, from 0 to 23
+     * @param minute the minute
+     * @return the formatted text
+     */
+    String format(int year, int month, int day, int dayOfWeek, int hour, int minute) {
+        synchronized (builder) {
+            builder.setLength(0);
+            for (int i = 0; i < kinds.length; i++) {
+                int count = counts[i];
+                switch (kinds[i]) {
+                    case LITERAL:
+                        builder.append(literals[i]);
+                        break;
+                    case YEAR:
+                        if (count == 2) {
+                            appendNumber(Math.abs(year) % 100, 2);
+                        } else {
+                            appendNumber(year, count);
+                        }
+                        break;
+                    case MONTH:
+                        if (count >= 4) {
+                            builder.append(months[month - 1]);
+                        } else if (count == 3) {
+                            builder.append(shortMonths[month - 1]);
+                        } else {
+                            appendNumber(month, count);
+                        }
+                        break;
+                    case DAY:
+                        appendNumber(day, count);
+                        break;
+                    case WEEKDAY:
+                        builder.append(count >= 4 ? weekdays[dayOfWeek] : shortWeekdays[dayOfWeek]);
+                        break;
+                    case HOUR:
+                        appendNumber(hour, count);
+                        break;
+                    case HOUR12:
+                        appendNumber(hour % 12 == 0 ? 12 : hour % 12, count);
+                        break;
+                    case MINUTE:
+                        appendNumber(minute, count);
+                        break;
+                    case AM_PM:
+                        builder.append(amPm[hour < 12 ? 0 : 1]);
+                        break;
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Appends number padded with zeros to the minimal width
+     */
+    private void appendNumber(int value, int width) {
+        if (value < 0) {
+            builder.append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (int v = value / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            builder.append(zeroDigit);
+        }
+        int divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor != 0; divisor /= 10) {
+            builder.append((char) (zeroDigit + value / divisor % 10));
+        }
+    }
+}
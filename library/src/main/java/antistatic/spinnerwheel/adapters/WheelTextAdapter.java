@@ -0,0 +1,56 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package antistatic.spinnerwheel.adapters;
+
+import android.text.TextPaint;
+
+/**
+ * Adapter for wheels whose items are plain single line text.
+ * Such items can be drawn by the wheel directly, with no item views created.
+ */
+public interface WheelTextAdapter extends WheelViewAdapter {
+    /**
+     * Checks whether items views are plain text, so drawing text directly looks the same
+     *
+     * @return true if items can be drawn as text
+     */
+    public boolean isTextOnly();
+
+    /**
+     * Returns text to be drawn for specified item
+     *
+     * @param index the item index
+     * @return the item text, or null if there is no text
+     */
+    public CharSequence getItemTextForDrawing(int index);
+
+    /**
+     * Configures paint used for drawing items text. Is called once per paint,
+     * and again after items layout has been invalidated.
+     *
+     * @param paint the paint to be configured
+     * @param isSelectedItem true if paint is used for the current item
+     */
+    public void configureTextPaint(TextPaint paint, boolean isSelectedItem);
+}
@@ -49,6 +49,31 @@ public interface WheelViewAdapter {
      */
     public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx);
 
+    /**
+     * Get the type of View that will be created by {@link #getItem} for the specified item.
+     * Views passed as <code>convertView</code> are always of the same type as the item being requested.
+     *
+     * @param index the item index
+     * @return an integer from 0 to {@link #getViewTypeCount()} - 1 representing the type of View
+     */
+    public int getItemViewType(int index);
+
+    /**
+     * Returns the number of types of Views that will be created by {@link #getItem}.
+     *
+     * @return the number of types of Views, at least 1
+     */
+    public int getViewTypeCount();
+
+    /**
+     * Checks whether item views created by this adapter may be reused by another one,
+     * i.e. views of the same type are created from the same layouts by both adapters.
+     *
+     * @param adapter the adapter to check
+     * @return true if item views of this adapter may be passed to the specified one as <code>convertView</code>
+     */
+    public boolean hasCompatibleViewTypes(WheelViewAdapter adapter);
+
     /**
      * Get a View that displays an empty spinnerwheel item placed before the first or after
      * the last spinnerwheel item.
@@ -0,0 +1,88 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats values the same way String.format() does for "%0Nd" and "%d" formats,
+ * including localized digits, but with no format string parsing.
+ */
+final class ZeroPaddedFormat {
+    private final String prefix;
+    private final int width;
+    private final String suffix;
+    private final String format;
+    private final char zeroDigit;
+    private final char[] buffer;
+
+    /**
+     * Constructor
+     * @param prefix the literal text before value
+     * @param width the minimal width of value, 0 for no padding
+     * @param suffix the literal text after value
+     * @param format the original format string
+     */
+    ZeroPaddedFormat(String prefix, int width, String suffix, String format) {
+        this.prefix = prefix;
+        this.width = width;
+        this.suffix = suffix;
+        this.format = format;
+        this.zeroDigit = new DecimalFormatSymbols(Locale.getDefault()).getZeroDigit();
+        this.buffer = new char[Math.max(width, 11)];
+    }
+
+    /**
+     * Formats value
+     * @param i the value
+     * @return the formatted text
+     */
+    String format(int i) {
+        if (i == Integer.MIN_VALUE) {
+            return String.format(format, i);
+        }
+        // buffer is shared, and item text may be prepared in background
+        synchronized (buffer) {
+            int pos = buffer.length;
+            int value = Math.abs(i);
+            do {
+                buffer[--pos] = (char) (zeroDigit + value % 10);
+                value /= 10;
+            } while (value != 0);
+
+            int digitsWidth = i < 0 ? width - 1 : width;
+            while (buffer.length - pos < digitsWidth) {
+                buffer[--pos] = zeroDigit;
+            }
+            if (i < 0) {
+                buffer[--pos] = '-';
+            }
+            int length = buffer.length - pos;
+            StringBuilder text = new StringBuilder(prefix.length() + length + suffix.length());
+            return text.append(prefix).append(buffer, pos, length).append(suffix).toString();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts memory allocated by the current thread.
+ * <p>
+ * Relies on <code>com.sun.management.ThreadMXBean</code>, which is available on HotSpot based JVMs.
+ */
+final class AllocationCounter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = getThreadMXBean();
+
+    // Count of measuring attempts
+    private static final int ATTEMPTS = 3;
+
+    private AllocationCounter() {
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        Object bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether allocations may be counted on this JVM
+     *
+     * @return true if allocations are counted
+     */
+    static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Gets the total count of bytes allocated by the current thread
+     *
+     * @return the count of bytes
+     */
+    static long getAllocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Measures the count of bytes allocated by the given count of runs of the action.
+     * The action is warmed up first, and the memory allocated by counting itself is subtracted.
+     * The runs are measured a few times and the least count is taken, as the JVM may allocate
+     * on the current thread once in a while, for example when running code is recompiled.
+     * Allocations of the action itself are counted by every attempt.
+     *
+     * @param action the action to measure
+     * @param runs the count of runs
+     * @return the total count of bytes
+     */
+    static long measure(Runnable action, int runs) {
+        for (int i = 0; i < runs; i++) {
+            action.run();
+        }
+        long overhead = getAllocatedBytes();
+        overhead = getAllocatedBytes() - overhead;
+
+        long least = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < ATTEMPTS && least > 0; attempt++) {
+            long start = getAllocatedBytes();
+            for (int i = 0; i < runs; i++) {
+                action.run();
+            }
+            long allocated = getAllocatedBytes() - start - overhead;
+            least = Math.min(least, Math.max(allocated, 0));
+        }
+        return least;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.widget.OverScroller;
+import org.robolectric.annotation.Implements;
+
+/**
+ * Replaces Robolectric over-scroller shadow, which scrolls linearly and does not fling.
+ * With no shadow methods the real {@link OverScroller} code is run on Robolectric clock.
+ */
+@Implements(OverScroller.class)
+public class FlingingShadowOverScroller {
+}
@@ -0,0 +1,69 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowChoreographer;
+
+/**
+ * Replaces Robolectric choreographer shadow, which runs frame callbacks with no delay. An animation
+ * posting its next step from a frame callback then runs without the clock moving, and never ends.
+ * Here frame callbacks are run at the next frame, as the display would do it.
+ */
+@Implements(Choreographer.class)
+public class FrameShadowChoreographer extends ShadowChoreographer {
+
+    /** Frame interval of a 60 fps display */
+    static final long FRAME_MS = 16;
+
+    private Handler handler;
+
+    @Implementation
+    public void postFrameCallbackDelayed(final Choreographer.FrameCallback callback, long delayMillis) {
+        getHandler().postAtTime(new Runnable() {
+            @Override
+            public void run() {
+                callback.doFrame(SystemClock.uptimeMillis() * 1000000);
+            }
+        }, callback, SystemClock.uptimeMillis() + delayMillis + FRAME_MS);
+    }
+
+    @Implementation
+    public void removeFrameCallback(Choreographer.FrameCallback callback) {
+        getHandler().removeCallbacksAndMessages(callback);
+    }
+
+    private Handler getHandler() {
+        if (handler == null) {
+            handler = new Handler(Looper.getMainLooper());
+        }
+        return handler;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Shader;
+import android.view.View.MeasureSpec;
+import antistatic.spinnerwheel.adapters.NumericWheelAdapter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures allocations of selector fade, see {@link AbstractWheelView#setSelectorPaintCoeff(float)},
+ * against creating a new shader on every fade frame as it was done before shaders were cached.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SelectorPaintCoeffTest {
+
+    /** Frames in one fade, about 750 ms at 60 fps */
+    private static final int FADE_FRAMES = 45;
+    private static final int FADES = 20;
+
+    @Test
+    public void verticalFadeDoesNotAllocate() {
+        WheelVerticalView wheel = new WheelVerticalView(RuntimeEnvironment.application) {
+            @Override
+            public void invalidate() {
+                // Robolectric view shadow allocates on invalidation, detached views do nothing on it
+            }
+        };
+        assertFadeDoesNotAllocate("vertical", wheel, 160, 240);
+    }
+
+    @Test
+    public void horizontalFadeDoesNotAllocate() {
+        WheelHorizontalView wheel = new WheelHorizontalView(RuntimeEnvironment.application) {
+            @Override
+            public void invalidate() {
+                // Robolectric view shadow allocates on invalidation, detached views do nothing on it
+            }
+        };
+        assertFadeDoesNotAllocate("horizontal", wheel, 480, 80);
+    }
+
+    private static void assertFadeDoesNotAllocate(String name, final AbstractWheelView wheel, int width, int height) {
+        assumeTrue(AllocationCounter.isSupported());
+
+        wheel.setVisibleItems(5);
+        wheel.setViewAdapter(new NumericWheelAdapter(RuntimeEnvironment.application, 0, 59));
+        wheel.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, width, height);
+
+        long uncached = AllocationCounter.measure(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < FADE_FRAMES; i++) {
+                    Shader shader = wheel.createSelectorShader(getFadeCoeff(i));
+                    wheel.mSelectorWheelPaint.setShader(shader);
+                    wheel.invalidate();
+                }
+            }
+        }, FADES);
+        long cached = AllocationCounter.measure(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < FADE_FRAMES; i++) {
+                    wheel.setSelectorPaintCoeff(getFadeCoeff(i));
+                }
+            }
+        }, FADES);
+
+        // a shader per frame allocates, so allocations are counted
+        assertTrue(name + " fade with a shader per frame allocates nothing", uncached > 0);
+        assertEquals("bytes allocated by " + FADES + " " + name + " fades", 0, cached);
+    }
+
+    private static float getFadeCoeff(int frame) {
+        return 1 - frame / (float) (FADE_FRAMES - 1);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import antistatic.spinnerwheel.adapters.NumericWheelAdapter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that snapped fling ends on item boundary with no justifying animation.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SnappedFlingTest {
+
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 400;
+    private static final int ITEM_HEIGHT = 48;
+    private static final int MAX_FRAMES = 500;
+
+    @Test
+    public void snappedFlingIsNotJustified() {
+        WheelVerticalView wheel = new WheelVerticalView(RuntimeEnvironment.application);
+        wheel.setVisibleItems(5);
+        wheel.setSnappingFling(true);
+        wheel.setViewAdapter(new NumericWheelAdapter(RuntimeEnvironment.application, 0, 999) {
+            @Override
+            public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx) {
+                View view = super.getItem(index, convertView, parent, currentItemIdx);
+                // Robolectric measures text as empty
+                view.setMinimumHeight(ITEM_HEIGHT);
+                return view;
+            }
+        });
+        wheel.setCurrentItem(500);
+        wheel.measure(MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, WIDTH, HEIGHT);
+        // Robolectric view shadow does not call onDraw() from draw()
+        wheel.onDraw(new Canvas());
+
+        long downTime = SystemClock.uptimeMillis();
+        for (int i = 0; i <= 6; i++) {
+            int action = i == 0 ? MotionEvent.ACTION_DOWN : i == 6 ? MotionEvent.ACTION_UP : MotionEvent.ACTION_MOVE;
+            MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action,
+                    WIDTH / 2, 320 - 50 * Math.min(i, 5), 0);
+            wheel.dispatchTouchEvent(event);
+            event.recycle();
+            Robolectric.getForegroundThreadScheduler().advanceBy(FrameShadowChoreographer.FRAME_MS);
+        }
+        assertEquals(WheelScroller.PHASE_FLINGING, wheel.mScroller.getScrollingPhase());
+
+        for (int i = 0; i < MAX_FRAMES
+                && wheel.mScroller.getScrollingPhase() != WheelScroller.PHASE_IDLE; i++) {
+            assertNotEquals(WheelScroller.PHASE_JUSTIFYING, wheel.mScroller.getScrollingPhase());
+            Robolectric.getForegroundThreadScheduler().advanceBy(FrameShadowChoreographer.FRAME_MS);
+        }
+        assertEquals(WheelScroller.PHASE_IDLE, wheel.mScroller.getScrollingPhase());
+        assertEquals(0, wheel.mScrollingOffset);
+        assertTrue(wheel.getCurrentItem() > 505);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.widget.TextView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks item views of the spinnerwheel after {@link AbstractWheel#swapAdapter(antistatic.spinnerwheel.adapters.WheelViewAdapter, boolean)}
+ * and after rebinding changed items.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SwapAdapterTest {
+
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 400;
+
+    private WheelVerticalView mWheel;
+    private TypedWheelAdapter mOldAdapter;
+
+    @Before
+    public void setUp() {
+        mWheel = new WheelVerticalView(RuntimeEnvironment.application);
+        mWheel.setVisibleItems(5);
+        mOldAdapter = new TypedWheelAdapter(RuntimeEnvironment.application, "old ", 20, 2);
+        mWheel.setViewAdapter(mOldAdapter);
+        mWheel.setCurrentItem(3);
+        layout();
+    }
+
+    @Test
+    public void rebindsViewsWhenCountIsSame() {
+        TypedWheelAdapter adapter = new TypedWheelAdapter(RuntimeEnvironment.application, "new ", 20, 2);
+        mWheel.swapAdapter(adapter, true);
+        layout();
+
+        assertItemViewsBound(adapter);
+        assertEquals(0, adapter.createdViewsCount);
+    }
+
+    @Test
+    public void reusesViewsWhenCountIsChanged() {
+        TypedWheelAdapter adapter = new TypedWheelAdapter(RuntimeEnvironment.application, "new ", 8, 2);
+        mWheel.swapAdapter(adapter, true);
+        layout();
+
+        assertItemViewsBound(adapter);
+        assertEquals(0, adapter.createdViewsCount);
+    }
+
+    @Test
+    public void keepsViewTypesWhenCountIsChanged() {
+        int oldViewsOfType1 = countViewsOfType(1);
+
+        // all the items of the new adapter are of the same type
+        TypedWheelAdapter adapter = new TypedWheelAdapter(RuntimeEnvironment.application, "new ", 8, 2);
+        adapter.setFixedViewType(1);
+        mWheel.swapAdapter(adapter, true);
+        layout();
+
+        assertItemViewsBound(adapter);
+        // only views of type 1 are reused
+        assertEquals(mWheel.mItemsLayout.getChildCount() - oldViewsOfType1, adapter.createdViewsCount);
+    }
+
+    @Test
+    public void rebuildsItemsWhenCurrentItemIsOutOfNewAdapter() {
+        mWheel.setCurrentItem(15);
+        layout();
+
+        TypedWheelAdapter adapter = new TypedWheelAdapter(RuntimeEnvironment.application, "new ", 8, 2);
+        mWheel.swapAdapter(adapter, true);
+        assertEquals(7, mWheel.getCurrentItem());
+        layout();
+
+        assertItemViewsBound(adapter);
+    }
+
+    @Test
+    public void wrapsCurrentItemOutOfNewCyclicAdapter() {
+        mWheel.setCyclic(true);
+        mWheel.setCurrentItem(15);
+        layout();
+
+        TypedWheelAdapter adapter = new TypedWheelAdapter(RuntimeEnvironment.application, "new ", 6, 2);
+        mWheel.swapAdapter(adapter, true);
+        assertEquals(3, mWheel.getCurrentItem());
+        layout();
+
+        assertItemViewsBound(adapter);
+    }
+
+    @Test
+    public void recyclesViewsReplacedByRebinding() {
+        int oldViewsOfType0 = countViewsOfType(0);
+        int oldViewsOfType1 = countViewsOfType(1);
+        mOldAdapter.createdViewsCount = 0;
+
+        mOldAdapter.setFixedViewType(1);
+        mOldAdapter.notifyItemRangeChanged(0, mOldAdapter.getItemsCount());
+        layout();
+
+        assertItemViewsBound(mOldAdapter);
+        assertEquals(oldViewsOfType0, mOldAdapter.createdViewsCount);
+
+        // replaced views of type 0 are taken from the recycler
+        mOldAdapter.setFixedViewType(0);
+        mOldAdapter.notifyItemRangeChanged(0, mOldAdapter.getItemsCount());
+        layout();
+
+        assertItemViewsBound(mOldAdapter);
+        assertEquals(oldViewsOfType0 + oldViewsOfType1, mOldAdapter.createdViewsCount);
+    }
+
+    private int countViewsOfType(int viewType) {
+        int count = 0;
+        for (int i = 0; i < mWheel.mItemsLayout.getChildCount(); i++) {
+            if (Integer.valueOf(viewType).equals(mWheel.mItemsLayout.getChildAt(i).getTag(R.id.wheel_item_view_type))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void layout() {
+        mWheel.measure(MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY));
+        mWheel.layout(0, 0, WIDTH, HEIGHT);
+        // Robolectric view shadow does not call onDraw() from draw()
+        mWheel.onDraw(new Canvas());
+    }
+
+    private void assertItemViewsBound(TypedWheelAdapter adapter) {
+        int childCount = mWheel.mItemsLayout.getChildCount();
+        assertEquals(true, childCount > 0);
+        for (int i = 0; i < childCount; i++) {
+            int index = mWheel.mFirstItemIdx + i;
+            View child = mWheel.mItemsLayout.getChildAt(i);
+            assertEquals(adapter.getItemText(index), ((TextView) child).getText().toString());
+            assertEquals(adapter.getItemViewType(index), child.getTag(R.id.wheel_item_view_type));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import antistatic.spinnerwheel.adapters.AbstractWheelAdapter;
+
+/**
+ * Adapter with configurable items count and view types, items of type <code>index % viewTypeCount</code>.
+ * Item views are text views showing the text prefix and the item index, so stale views are easy to detect.
+ */
+class TypedWheelAdapter extends AbstractWheelAdapter {
+
+    private final Context context;
+    private final String textPrefix;
+    // Count of created item views
+    int createdViewsCount;
+    private int itemsCount;
+    private int viewTypeCount;
+    // Items are of the same type if set
+    private int fixedViewType = -1;
+
+    TypedWheelAdapter(Context context, int itemsCount, int viewTypeCount) {
+        this(context, "", itemsCount, viewTypeCount);
+    }
+
+    TypedWheelAdapter(Context context, String textPrefix, int itemsCount, int viewTypeCount) {
+        this.context = context;
+        this.textPrefix = textPrefix;
+        this.itemsCount = itemsCount;
+        this.viewTypeCount = viewTypeCount;
+    }
+
+    void setItemsCount(int itemsCount) {
+        this.itemsCount = itemsCount;
+    }
+
+    void setViewTypeCount(int viewTypeCount) {
+        this.viewTypeCount = viewTypeCount;
+    }
+
+    void setFixedViewType(int viewType) {
+        this.fixedViewType = viewType;
+    }
+
+    @Override
+    public int getItemsCount() {
+        return itemsCount;
+    }
+
+    @Override
+    public int getItemViewType(int index) {
+        return fixedViewType >= 0 ? fixedViewType : index % viewTypeCount;
+    }
+
+    @Override
+    public int getViewTypeCount() {
+        return viewTypeCount;
+    }
+
+    @Override
+    public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx) {
+        TextView view = (TextView) convertView;
+        if (view == null) {
+            view = new TextView(context);
+            createdViewsCount++;
+        }
+        view.setText(getItemText(index));
+        return view;
+    }
+
+    String getItemText(int index) {
+        return textPrefix + index;
+    }
+
+    /**
+     * Creates view bound to the item, as the spinnerwheel does it
+     *
+     * @param index the item index
+     * @return the item view
+     */
+    View createBoundView(int index) {
+        View view = getItem(index, null, null, 0);
+        view.setTag(R.id.wheel_item_view_type, getItemViewType(index));
+        view.setTag(R.id.wheel_item_bound_as_current, false);
+        return view;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Canvas;
+import android.view.View.MeasureSpec;
+import antistatic.spinnerwheel.adapters.ArrayWheelAdapter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that drawing a horizontal spinnerwheel allocates nothing once items are built.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelHorizontalViewDrawTest {
+
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 80;
+    private static final int DRAWS = 200;
+
+    private static final String ITEMS[] = new String[] {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+
+    private WheelHorizontalView mWheel;
+    private final Canvas mCanvas = new Canvas();
+
+    @Before
+    public void setUp() {
+        assumeTrue(AllocationCounter.isSupported());
+
+        mWheel = new WheelHorizontalView(RuntimeEnvironment.application);
+        mWheel.setVisibleItems(5);
+        mWheel.setViewAdapter(new ArrayWheelAdapter<String>(RuntimeEnvironment.application, ITEMS));
+        mWheel.setCurrentItem(3);
+    }
+
+    @Test
+    public void drawItemsWithBitmapsDoesNotAllocate() {
+        mWheel.setCompositingMode(AbstractWheelView.COMPOSITING_MODE_BITMAP);
+        assertDrawDoesNotAllocate();
+    }
+
+    @Test
+    public void drawItemsWithLayersDoesNotAllocate() {
+        mWheel.setCompositingMode(AbstractWheelView.COMPOSITING_MODE_LAYER);
+        assertDrawDoesNotAllocate();
+        // test canvas is not hardware accelerated, so layers fall back to intermediate bitmaps
+        assertNotNull(mWheel.mSpinBitmap);
+    }
+
+    @Test
+    public void drawTextItemsDoesNotAllocate() {
+        mWheel.setDirectTextRendering(true);
+        assertDrawDoesNotAllocate();
+    }
+
+    @Test
+    public void drawScrolledItemsDoesNotAllocate() {
+        layout();
+        mWheel.mScrollingOffset = -mWheel.getItemDimension() / 2;
+        assertDrawDoesNotAllocate();
+    }
+
+    @Test
+    public void drawScrolledTextItemsDoesNotAllocate() {
+        mWheel.setDirectTextRendering(true);
+        layout();
+        mWheel.mScrollingOffset = mWheel.getItemDimension() / 2;
+        assertDrawDoesNotAllocate();
+    }
+
+    private void layout() {
+        mWheel.measure(MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY));
+        mWheel.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private void assertDrawDoesNotAllocate() {
+        layout();
+        // Robolectric view shadow does not call onDraw() from draw()
+        long bytes = AllocationCounter.measure(new Runnable() {
+            @Override
+            public void run() {
+                mWheel.onDraw(mCanvas);
+            }
+        }, DRAWS);
+        assertEquals("bytes allocated by " + DRAWS + " onDraw() calls", 0, bytes);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.content.Context;
+import antistatic.spinnerwheel.adapters.AbstractWheelTextAdapter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks width of text items drawn directly by a horizontal spinnerwheel.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelHorizontalViewTextWidthTest {
+
+    /**
+     * Text adapter with replaceable items text
+     */
+    private static class MutableTextAdapter extends AbstractWheelTextAdapter {
+        private String[] items;
+
+        MutableTextAdapter(Context context, String[] items) {
+            super(context);
+            this.items = items;
+        }
+
+        void setItems(String[] items) {
+            this.items = items;
+            notifyDataChangedEvent();
+        }
+
+        void setItem(int index, String item) {
+            items[index] = item;
+            notifyItemChanged(index);
+        }
+
+        @Override
+        public int getItemsCount() {
+            return items.length;
+        }
+
+        @Override
+        protected CharSequence getItemText(int index) {
+            return items[index];
+        }
+    }
+
+    private WheelHorizontalView mWheel;
+    private MutableTextAdapter mAdapter;
+    private int mInitialWidth;
+
+    @Before
+    public void setUp() {
+        mWheel = new WheelHorizontalView(RuntimeEnvironment.application);
+        mWheel.setVisibleItems(3);
+        mWheel.setDirectTextRendering(true);
+        mAdapter = new MutableTextAdapter(RuntimeEnvironment.application, new String[] {"1", "2", "3", "4"});
+        mWheel.setViewAdapter(mAdapter);
+        mWheel.setCurrentItem(1);
+        mInitialWidth = mWheel.getItemDimension();
+        assertTrue(mInitialWidth > 0);
+    }
+
+    @Test
+    public void remeasuresItemsWhenDataIsChanged() {
+        mAdapter.setItems(new String[] {"1", "2 and more", "3", "4"});
+
+        assertTrue(mWheel.getItemDimension() > mInitialWidth);
+    }
+
+    @Test
+    public void remeasuresItemsWhenItemIsChanged() {
+        mAdapter.setItem(2, "3 and more");
+
+        assertTrue(mWheel.getItemDimension() > mInitialWidth);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.view.View;
+import android.widget.LinearLayout;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class WheelRecyclerTest {
+
+    private TypedWheelAdapter mAdapter;
+    private WheelRecycler mRecycler;
+    private LinearLayout mLayout;
+
+    @Before
+    public void setUp() {
+        WheelVerticalView wheel = new WheelVerticalView(RuntimeEnvironment.application);
+        mAdapter = new TypedWheelAdapter(RuntimeEnvironment.application, 10, 2);
+        wheel.setViewAdapter(mAdapter);
+        mRecycler = new WheelRecycler(wheel);
+        mLayout = new LinearLayout(RuntimeEnvironment.application);
+    }
+
+    @Test
+    public void recyclesViewToPoolOfItsBoundType() {
+        mRecycler.setIndexCacheSize(0);
+        View even = mAdapter.createBoundView(2);
+        View odd = mAdapter.createBoundView(3);
+        mLayout.addView(even);
+        mLayout.addView(odd);
+
+        // types of items are changed since views have been bound
+        mAdapter.setFixedViewType(1);
+        mRecycler.recycleItems(mLayout, 2, new ItemsRange());
+
+        assertSame(even, mRecycler.getItem(0));
+        assertSame(odd, mRecycler.getItem(1));
+        assertNull(mRecycler.getItem(1));
+    }
+
+    @Test
+    public void recyclesViewWithNoTypeAsEmpty() {
+        View empty = new View(RuntimeEnvironment.application);
+        mLayout.addView(empty);
+
+        // index is valid, but the view has been bound as an empty one
+        mRecycler.recycleItems(mLayout, 0, new ItemsRange());
+
+        assertNull(mRecycler.getItem(0));
+        assertNull(mRecycler.getBoundItem(0, false));
+        assertSame(empty, mRecycler.getEmptyItem());
+    }
+
+    @Test
+    public void recyclesItemViewOutOfBoundsToItsPool() {
+        mRecycler.setIndexCacheSize(0);
+        View view = mAdapter.createBoundView(8);
+        mLayout.addView(view);
+
+        // items count is decreased since the view has been bound
+        mAdapter.setItemsCount(5);
+        mRecycler.recycleItems(mLayout, 8, new ItemsRange());
+
+        assertNull(mRecycler.getEmptyItem());
+        assertSame(view, mRecycler.getItem(0));
+    }
+
+    @Test
+    public void keepsViewBoundToItemOfSameTypeOnly() {
+        View even = mAdapter.createBoundView(2);
+        View odd = mAdapter.createBoundView(3);
+        mLayout.addView(even);
+        mLayout.addView(odd);
+
+        mAdapter.setFixedViewType(1);
+        mRecycler.recycleItems(mLayout, 2, new ItemsRange());
+
+        assertNull(mRecycler.getBoundItem(2, false));
+        assertSame(odd, mRecycler.getBoundItem(3, false));
+        assertSame(even, mRecycler.getItem(0));
+    }
+
+    @Test
+    public void dropsViewOfTypeAdapterHasNoMore() {
+        mRecycler.setIndexCacheSize(0);
+        mLayout.addView(mAdapter.createBoundView(3));
+
+        mAdapter.setViewTypeCount(1);
+        mRecycler.recycleItems(mLayout, 3, new ItemsRange());
+
+        assertEquals(0, mLayout.getChildCount());
+        assertEquals(1, mRecycler.getEvictionCount());
+        assertNull(mRecycler.getItem(0));
+    }
+}
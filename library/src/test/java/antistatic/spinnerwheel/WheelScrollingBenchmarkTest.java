@@ -0,0 +1,354 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import antistatic.spinnerwheel.adapters.AbstractWheelTextAdapter;
+import antistatic.spinnerwheel.adapters.ArrayWheelAdapter;
+import antistatic.spinnerwheel.adapters.NumericWheelAdapter;
+import antistatic.spinnerwheel.adapters.WheelViewAdapter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Scripted scrolling benchmark.
+ * <p>
+ * Drives synthetic flings through vertical and horizontal wheels with different adapters,
+ * one touch event and one <code>onDraw()</code> per frame of the Robolectric clock. For every frame
+ * it records the time spent in <code>onDraw()</code>, the memory it allocates and the number of item
+ * binds and inflations, and writes them to a CSV file per run in {@link #REPORT_DIR}.
+ * Allocations are counted around <code>onDraw()</code> only, so the script's own events
+ * and bookkeeping are not included.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelScrollingBenchmarkTest {
+
+    private static final int VERTICAL_WIDTH = 160;
+    private static final int VERTICAL_HEIGHT = 400;
+    private static final int HORIZONTAL_WIDTH = 480;
+    private static final int HORIZONTAL_HEIGHT = 80;
+
+    private static final int ITEM_WIDTH = 96;
+    private static final int ITEM_HEIGHT = 48;
+
+    /** Flings performed in every run */
+    private static final int FLINGS = 6;
+
+    /** Move events in every scripted fling */
+    private static final int MOVE_EVENTS = 5;
+
+    /** Frames a fling is allowed to take before the run is considered stuck */
+    private static final int MAX_FRAMES_PER_FLING = 500;
+
+    private static final int MAX_FRAMES = FLINGS * (MOVE_EVENTS + 2 + MAX_FRAMES_PER_FLING);
+
+    /** Directory of run reports, relative to the module directory tests are run in */
+    static final File REPORT_DIR = new File("build/reports/scrolling-benchmark");
+
+    private static final String DAYS[] = new String[] {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+
+    private static final String COUNTRIES[] = new String[] {
+            "USA", "Canada", "Ukraine", "France", "Germany", "Italy", "Spain", "Poland",
+            "Sweden", "Norway", "Finland", "Denmark", "Japan", "China", "India", "Brazil"
+    };
+
+    private Context mContext;
+    private final Canvas mCanvas = new Canvas();
+
+    // Per-frame statistics of the run
+    private final long[] mFrameNanos = new long[MAX_FRAMES];
+    private final long[] mFrameBytes = new long[MAX_FRAMES];
+    private final int[] mFrameBinds = new int[MAX_FRAMES];
+    private final int[] mFrameInflations = new int[MAX_FRAMES];
+    private int mFrames;
+
+    // Counters since the previous frame
+    private int mBinds;
+    private int mInflations;
+
+    private int mChanges;
+
+    @Before
+    public void setUp() {
+        assumeTrue(AllocationCounter.isSupported());
+        mContext = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void smallCyclicAdapter() throws IOException {
+        run("small cyclic", true, new Factory() {
+            @Override
+            WheelViewAdapter create() {
+                return new ArrayWheelAdapter<String>(mContext, DAYS) {
+                    @Override
+                    public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx) {
+                        return bind(super.getItem(index, convertView, parent, currentItemIdx), convertView);
+                    }
+                };
+            }
+        });
+    }
+
+    @Test
+    public void hugeNumericAdapter() throws IOException {
+        run("huge numeric", false, new Factory() {
+            @Override
+            WheelViewAdapter create() {
+                return new NumericWheelAdapter(mContext, 0, 999999, "%06d") {
+                    @Override
+                    public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx) {
+                        return bind(super.getItem(index, convertView, parent, currentItemIdx), convertView);
+                    }
+                };
+            }
+        });
+    }
+
+    @Test
+    public void customLayoutAdapter() throws IOException {
+        run("custom layout", false, new Factory() {
+            @Override
+            WheelViewAdapter create() {
+                // item text is in a child of the item layout
+                return new AbstractWheelTextAdapter(mContext,
+                        android.R.layout.simple_list_item_2, android.R.id.text1) {
+                    @Override
+                    public int getItemsCount() {
+                        return COUNTRIES.length;
+                    }
+
+                    @Override
+                    protected CharSequence getItemText(int index) {
+                        return COUNTRIES[index];
+                    }
+
+                    @Override
+                    public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx) {
+                        return bind(super.getItem(index, convertView, parent, currentItemIdx), convertView);
+                    }
+                };
+            }
+        });
+    }
+
+    @Test
+    public void mixedViewTypesAdapter() throws IOException {
+        run("mixed view types", false, new Factory() {
+            @Override
+            WheelViewAdapter create() {
+                return new TypedWheelAdapter(mContext, 1000, 3) {
+                    @Override
+                    public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx) {
+                        return bind(super.getItem(index, convertView, parent, currentItemIdx), convertView);
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Runs the scenario on a vertical and on a horizontal wheel
+     */
+    private void run(String name, boolean cyclic, Factory factory) throws IOException {
+        runWheel(name + ", vertical", new WheelVerticalView(mContext) {
+            @Override
+            public void invalidate() {
+                // Robolectric view shadow allocates on invalidation, frames are drawn by the script
+            }
+        }, VERTICAL_WIDTH, VERTICAL_HEIGHT, cyclic, factory);
+        runWheel(name + ", horizontal", new WheelHorizontalView(mContext) {
+            @Override
+            public void invalidate() {
+                // Robolectric view shadow allocates on invalidation, frames are drawn by the script
+            }
+        }, HORIZONTAL_WIDTH, HORIZONTAL_HEIGHT, cyclic, factory);
+    }
+
+    private void runWheel(String name, AbstractWheelView wheel, int width, int height,
+                          boolean cyclic, Factory factory) throws IOException {
+        wheel.setVisibleItems(5);
+        wheel.setCyclic(cyclic);
+        wheel.setViewAdapter(factory.create());
+        wheel.addChangingListener(new OnWheelChangedListener() {
+            @Override
+            public void onChanged(AbstractWheel wheel, int oldValue, int newValue) {
+                mChanges++;
+            }
+        });
+        wheel.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, width, height);
+        // Robolectric view shadow does not call onDraw() from draw()
+        wheel.onDraw(mCanvas);
+
+        mFrames = 0;
+        mBinds = 0;
+        mInflations = 0;
+        mChanges = 0;
+
+        boolean vertical = wheel instanceof WheelVerticalView;
+        for (int i = 0; i < FLINGS; i++) {
+            fling(wheel, vertical, width, height, i % 2 == 0);
+        }
+
+        writeReport(name);
+
+        // frames with touch events only, if flings are not animated
+        assertTrue(name + " did not fling", mFrames > FLINGS * (MOVE_EVENTS + 2));
+        assertTrue(name + " bound no items", sum(mFrameBinds) > 0);
+        assertTrue(name + " did not scroll", mChanges > 0);
+        assertEquals(name + " did not stop", WheelScroller.PHASE_IDLE, wheel.mScroller.getScrollingPhase());
+    }
+
+    /**
+     * Delivers a synthetic down - move - up sequence across the wheel, one event per frame,
+     * and draws frames until the wheel stops.
+     *
+     * @param wheel the wheel to fling
+     * @param vertical whether the wheel is vertical
+     * @param forward the fling direction
+     */
+    private void fling(AbstractWheelView wheel, boolean vertical, int width, int height, boolean forward) {
+        float size = vertical ? height : width;
+        float center = (vertical ? width : height) / 2f;
+        float from = forward ? size * 0.8f : size * 0.2f;
+        float step = (forward ? -size * 0.6f : size * 0.6f) / MOVE_EVENTS;
+        long downTime = SystemClock.uptimeMillis();
+
+        for (int i = 0; i <= MOVE_EVENTS + 1; i++) {
+            int action = i == 0 ? MotionEvent.ACTION_DOWN
+                    : i > MOVE_EVENTS ? MotionEvent.ACTION_UP : MotionEvent.ACTION_MOVE;
+            float position = from + step * Math.min(i, MOVE_EVENTS);
+            MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action,
+                    vertical ? center : position, vertical ? position : center, 0);
+            wheel.dispatchTouchEvent(event);
+            event.recycle();
+            drawFrame(wheel);
+        }
+
+        for (int i = 0; i < MAX_FRAMES_PER_FLING
+                && wheel.mScroller.getScrollingPhase() != WheelScroller.PHASE_IDLE; i++) {
+            drawFrame(wheel);
+        }
+    }
+
+    /**
+     * Advances the clock by one frame, running scroller animation steps, and draws the wheel
+     */
+    private void drawFrame(AbstractWheelView wheel) {
+        Robolectric.getForegroundThreadScheduler().advanceBy(FrameShadowChoreographer.FRAME_MS);
+
+        long overhead = AllocationCounter.getAllocatedBytes();
+        overhead = AllocationCounter.getAllocatedBytes() - overhead;
+
+        long bytes = AllocationCounter.getAllocatedBytes();
+        long start = System.nanoTime();
+        wheel.onDraw(mCanvas);
+        long nanos = System.nanoTime() - start;
+        bytes = AllocationCounter.getAllocatedBytes() - bytes - overhead;
+
+        mFrameNanos[mFrames] = nanos;
+        mFrameBytes[mFrames] = Math.max(bytes, 0);
+        mFrameBinds[mFrames] = mBinds;
+        mFrameInflations[mFrames] = mInflations;
+        mFrames++;
+        mBinds = 0;
+        mInflations = 0;
+    }
+
+    /**
+     * Writes per-frame statistics of the run to a CSV file
+     *
+     * @param name the run name
+     */
+    private void writeReport(String name) throws IOException {
+        if (!REPORT_DIR.isDirectory() && !REPORT_DIR.mkdirs()) {
+            throw new IOException("Cannot create " + REPORT_DIR);
+        }
+        File file = new File(REPORT_DIR, name.replace(", ", "-").replace(' ', '-') + ".csv");
+        PrintWriter writer = new PrintWriter(file, "UTF-8");
+        try {
+            writer.println("frame,draw_ns,allocated_bytes,binds,inflations");
+            for (int i = 0; i < mFrames; i++) {
+                writer.println(i + "," + mFrameNanos[i] + "," + mFrameBytes[i] + ","
+                        + mFrameBinds[i] + "," + mFrameInflations[i]);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private int sum(int[] frameValues) {
+        int sum = 0;
+        for (int i = 0; i < mFrames; i++) {
+            sum += frameValues[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Counts the bind of the item view and sizes it, Robolectric measures text as empty
+     *
+     * @param view the bound item view
+     * @param convertView the view passed to the adapter for reuse
+     * @return the item view
+     */
+    private View bind(View view, View convertView) {
+        mBinds++;
+        if (convertView == null) {
+            mInflations++;
+        }
+        view.setMinimumWidth(ITEM_WIDTH);
+        view.setMinimumHeight(ITEM_HEIGHT);
+        return view;
+    }
+
+    /**
+     * Creates the scenario adapter, a new one for every wheel
+     */
+    private static abstract class Factory {
+        abstract WheelViewAdapter create();
+    }
+}
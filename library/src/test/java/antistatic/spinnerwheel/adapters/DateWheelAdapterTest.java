@@ -0,0 +1,82 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class DateWheelAdapterTest {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    @Test
+    public void formatsDaysAsCalendar() {
+        SimpleDateFormat expected = new SimpleDateFormat("yyyy-MM-dd EEE", Locale.US);
+        expected.setTimeZone(TimeZone.getTimeZone("UTC"));
+        int minDay = DateWheelAdapter.toEpochDay(1600, 3, 1);
+        int maxDay = DateWheelAdapter.toEpochDay(2400, 2, 29);
+        DateWheelAdapter adapter = new DateWheelAdapter(RuntimeEnvironment.application, minDay, maxDay,
+                "yyyy-MM-dd EEE", Locale.US, 0);
+
+        for (int day = minDay; day <= maxDay; day += 17) {
+            String label = expected.format(new Date(day * MILLIS_PER_DAY));
+            assertEquals(label, adapter.getItemText(adapter.getItemIndex(day)));
+            assertEquals(Integer.parseInt(label.substring(0, 4)), DateWheelAdapter.getYear(day));
+        }
+    }
+
+    @Test
+    public void getsYearOfFirstAndLastDays() {
+        assertEquals(1970, DateWheelAdapter.getYear(0));
+        assertEquals(1969, DateWheelAdapter.getYear(-1));
+        assertEquals(2000, DateWheelAdapter.getYear(DateWheelAdapter.toEpochDay(2000, 1, 1)));
+        assertEquals(1999, DateWheelAdapter.getYear(DateWheelAdapter.toEpochDay(1999, 12, 31)));
+        assertEquals(-1, DateWheelAdapter.getYear(DateWheelAdapter.toEpochDay(-1, 12, 31)));
+    }
+
+    @Test
+    public void dropsCachedLabelsWhenPatternIsChanged() {
+        DateWheelAdapter adapter = new DateWheelAdapter(RuntimeEnvironment.application, 0, 10, "d MMM",
+                Locale.US, DateWheelAdapter.DEFAULT_CACHE_SIZE);
+        CharSequence label = adapter.getItemText(5);
+        assertSame(label, adapter.getItemText(5));
+
+        adapter.setPattern("yyyy-MM-dd");
+        assertEquals("1970-01-06", adapter.getItemText(5));
+        assertNotSame(label, adapter.getItemText(5));
+    }
+}
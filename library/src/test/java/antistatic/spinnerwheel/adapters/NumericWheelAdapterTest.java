@@ -0,0 +1,69 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class NumericWheelAdapterTest {
+
+    @Test
+    public void doesNotCacheFormatFunctionResultsByDefault() {
+        CountingFunction function = new CountingFunction();
+        NumericWheelAdapter adapter = new NumericWheelAdapter(RuntimeEnvironment.application, 0, 9, function);
+
+        assertEquals("5#1", adapter.getItemText(5));
+        assertEquals("5#2", adapter.getItemText(5));
+    }
+
+    @Test
+    public void cachesFormatFunctionResultsOnRequest() {
+        CountingFunction function = new CountingFunction();
+        NumericWheelAdapter adapter = new NumericWheelAdapter(RuntimeEnvironment.application, 0, 9, function,
+                NumericWheelAdapter.DEFAULT_CACHE_SIZE);
+
+        assertEquals("5#1", adapter.getItemText(5));
+        assertEquals("5#1", adapter.getItemText(5));
+        assertEquals(1, function.calls);
+    }
+
+    /**
+     * Format function whose results depend on the count of its calls
+     */
+    private static class CountingFunction implements NumericWheelAdapter.IntParamFunction<String> {
+        int calls;
+
+        @Override
+        public String apply(int i) {
+            calls++;
+            return i + "#" + calls;
+        }
+    }
+}
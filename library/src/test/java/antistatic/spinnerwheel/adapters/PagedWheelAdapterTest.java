@@ -0,0 +1,123 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.database.DataSetObserver;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class PagedWheelAdapterTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    /** Runs page loader right away, loaded pages are then posted to the main looper */
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    /**
+     * Loads items text as their index, failing first loads if asked to
+     */
+    private static class CountingLoader implements PagedWheelAdapter.PageLoader {
+        int loads;
+        int failures;
+
+        @Override
+        public CharSequence[] loadPage(int start, int count) {
+            loads++;
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Page is not available");
+            }
+            CharSequence[] texts = new CharSequence[count];
+            for (int i = 0; i < count; i++) {
+                texts[i] = String.valueOf(start + i);
+            }
+            return texts;
+        }
+    }
+
+    private static PagedWheelAdapter createAdapter(CountingLoader loader) {
+        return new PagedWheelAdapter(RuntimeEnvironment.application, 100, PAGE_SIZE, 2, loader, DIRECT_EXECUTOR);
+    }
+
+    @Test
+    public void loadsPageOnce() {
+        CountingLoader loader = new CountingLoader();
+        PagedWheelAdapter adapter = createAdapter(loader);
+
+        assertEquals(PagedWheelAdapter.DEFAULT_PLACEHOLDER, adapter.getItemText(15));
+        assertEquals("15", adapter.getItemText(15));
+        assertEquals("19", adapter.getItemText(19));
+        assertEquals(1, loader.loads);
+    }
+
+    @Test
+    public void requestsFailedPageAgain() {
+        CountingLoader loader = new CountingLoader();
+        loader.failures = 1;
+        PagedWheelAdapter adapter = createAdapter(loader);
+
+        assertEquals(PagedWheelAdapter.DEFAULT_PLACEHOLDER, adapter.getItemText(15));
+        assertEquals(1, loader.loads);
+
+        // page is not pending anymore, so it is requested again
+        assertEquals(PagedWheelAdapter.DEFAULT_PLACEHOLDER, adapter.getItemText(15));
+        assertEquals(2, loader.loads);
+        assertEquals("15", adapter.getItemText(15));
+    }
+
+    @Test
+    public void notifiesObserversToRequestFailedPageAgain() {
+        CountingLoader loader = new CountingLoader();
+        loader.failures = 1;
+        PagedWheelAdapter adapter = createAdapter(loader);
+        final int[] changes = new int[1];
+        adapter.registerDataSetObserver(new DataSetObserver() {
+            @Override
+            public void onChanged() {
+                changes[0]++;
+            }
+        });
+
+        assertEquals(PagedWheelAdapter.DEFAULT_PLACEHOLDER, adapter.getItemText(15));
+        assertEquals(0, changes[0]);
+
+        // items shown on an idle wheel are rebound, so they request the page again
+        Robolectric.getForegroundThreadScheduler().advanceBy(1000);
+        assertEquals(1, changes[0]);
+    }
+}
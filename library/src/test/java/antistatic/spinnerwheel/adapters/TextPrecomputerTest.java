@@ -0,0 +1,135 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * based on
+ *
+ * Android Wheel Control.
+ * https://code.google.com/p/android-wheel/
+ *
+ * Copyright 2011 Yuri Kanivets
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.widget.TextView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class TextPrecomputerTest {
+
+    private static final int ITEMS_COUNT = 10;
+    private static final int ITEMS_AHEAD = 3;
+
+    /** Keeps tasks until they are run, prepared text is then posted to the main looper */
+    private static class QueueingExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runTasks() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    private final QueueingExecutor mExecutor = new QueueingExecutor();
+    private TextPrecomputer mPrecomputer;
+    private TextView mTextView;
+
+    @Before
+    public void setUp() {
+        AbstractWheelTextAdapter adapter = new AbstractWheelTextAdapter(RuntimeEnvironment.application) {
+            @Override
+            public int getItemsCount() {
+                return ITEMS_COUNT;
+            }
+
+            @Override
+            protected CharSequence getItemText(int index) {
+                return String.valueOf(index);
+            }
+        };
+        mPrecomputer = new TextPrecomputer(adapter, ITEMS_AHEAD, mExecutor);
+        mTextView = new TextView(RuntimeEnvironment.application);
+    }
+
+    @Test
+    public void preparesNextItems() {
+        mPrecomputer.onBound(mTextView, 5, 4);
+
+        assertPrepared(6, 7, 8);
+        assertNull(mPrecomputer.take(9));
+    }
+
+    @Test
+    public void preparesNextItemsAcrossLastOne() {
+        mPrecomputer.onBound(mTextView, 9, 8);
+
+        assertPrepared(0, 1, 2);
+    }
+
+    @Test
+    public void preparesPreviousItemsAcrossFirstOne() {
+        // the first item is bound above the last current one in a cyclic spinnerwheel
+        mPrecomputer.onBound(mTextView, 0, 9);
+
+        assertPrepared(1, 2, 3);
+
+        mPrecomputer.onBound(mTextView, 8, 0);
+
+        assertPrepared(7, 6, 5);
+    }
+
+    @Test
+    public void queuesItemsToSingleTask() {
+        mPrecomputer.onBound(mTextView, 5, 4);
+        mPrecomputer.onBound(mTextView, 6, 4);
+
+        assertEquals(1, mExecutor.tasks.size());
+
+        mExecutor.runTasks();
+        // prepared items are not queued again
+        mPrecomputer.onBound(mTextView, 7, 4);
+
+        assertEquals(1, mExecutor.tasks.size());
+
+        mExecutor.runTasks();
+
+        assertPrepared(6, 7, 8, 9, 0);
+    }
+
+    private void assertPrepared(int... indices) {
+        mExecutor.runTasks();
+        for (int index : indices) {
+            assertEquals(String.valueOf(index), String.valueOf(mPrecomputer.take(index)));
+        }
+    }
+}